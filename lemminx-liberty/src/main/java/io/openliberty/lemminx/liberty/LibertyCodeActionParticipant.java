@@ -0,0 +1,59 @@
+package io.openliberty.lemminx.liberty;
+
+import org.eclipse.lemminx.commons.BadLocationException;
+import org.eclipse.lemminx.commons.CodeActionFactory;
+import org.eclipse.lemminx.dom.DOMDocument;
+import org.eclipse.lemminx.services.extensions.ICodeActionParticipant;
+import org.eclipse.lemminx.services.extensions.IComponentProvider;
+import org.eclipse.lemminx.settings.SharedSettings;
+import org.eclipse.lsp4j.CodeAction;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.Range;
+import io.openliberty.lemminx.liberty.models.feature.*;
+import io.openliberty.lemminx.liberty.services.FeatureService;
+import io.openliberty.lemminx.liberty.services.SettingsService;
+import io.openliberty.lemminx.liberty.util.*;
+
+import java.util.List;
+import java.util.logging.Logger;
+
+public class LibertyCodeActionParticipant implements ICodeActionParticipant {
+
+    private static final Logger LOGGER = Logger.getLogger(LibertyCodeActionParticipant.class.getName());
+
+    private static final int MAX_FEATURE_SUGGESTIONS = 5;
+
+    @Override
+    public void doCodeAction(Diagnostic diagnostic, Range range, DOMDocument document, List<CodeAction> codeActions,
+            SharedSettings sharedSettings, IComponentProvider componentProvider) {
+        if (!LibertyUtils.isServerXMLFile(document) || diagnostic.getCode() == null)
+            return;
+
+        // offer the closest valid feature names for a feature that does not exist
+        if (LibertyConstants.FEATURE_NOT_EXIST_CODE.equals(diagnostic.getCode().getLeft())) {
+            try {
+                addReplaceFeatureActions(diagnostic, document, codeActions);
+            } catch (BadLocationException e) {
+                LOGGER.warning("Unable to suggest replacement features: " + e.getMessage());
+            }
+        }
+    }
+
+    private void addReplaceFeatureActions(Diagnostic diagnostic, DOMDocument document, List<CodeAction> codeActions)
+            throws BadLocationException {
+        Range featureRange = diagnostic.getRange();
+        String featureName = document.getText().substring(document.offsetAt(featureRange.getStart()),
+                document.offsetAt(featureRange.getEnd()));
+
+        final String libertyVersion = SettingsService.getInstance().getLibertyVersion(document);
+        final int requestDelay = SettingsService.getInstance().getRequestDelay();
+        List<Feature> similarFeatures = FeatureService.getInstance().getFeatureCatalog(libertyVersion, requestDelay)
+                .getSimilarFeatures(featureName, MAX_FEATURE_SUGGESTIONS);
+
+        for (Feature feature : similarFeatures) {
+            String shortName = feature.getWlpInformation().getShortName();
+            codeActions.add(CodeActionFactory.replace("Replace with " + shortName, featureRange, shortName,
+                    document.getTextDocument(), diagnostic));
+        }
+    }
+}
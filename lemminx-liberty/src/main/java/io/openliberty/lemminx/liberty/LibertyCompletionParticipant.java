@@ -7,15 +7,19 @@ import org.eclipse.lemminx.services.extensions.ICompletionRequest;
 import org.eclipse.lemminx.services.extensions.ICompletionResponse;
 import org.eclipse.lemminx.utils.XMLPositionUtility;
 import org.eclipse.lsp4j.CompletionItem;
+import org.eclipse.lsp4j.CompletionItemKind;
 import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.TextEdit;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import io.openliberty.lemminx.liberty.models.feature.*;
+import io.openliberty.lemminx.liberty.services.ConfigSymbolService;
+import io.openliberty.lemminx.liberty.services.FeatureCatalog;
 import io.openliberty.lemminx.liberty.services.FeatureService;
 import io.openliberty.lemminx.liberty.services.SettingsService;
 import io.openliberty.lemminx.liberty.util.*;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -36,11 +40,35 @@ public class LibertyCompletionParticipant extends CompletionParticipantAdapter {
         // if the parent element of cursor is a <feature>
         // provide the liberty features as completion options
         if (parentElement.getTagName().equals(LibertyConstants.FEATURE_ELEMENT)) {
-            List<CompletionItem> featureCompletionItems = buildCompletionItems(parentElement, request.getXMLDocument());
+            List<CompletionItem> featureCompletionItems = buildCompletionItems(parentElement, request.getXMLDocument(),
+                    request.getOffset());
             featureCompletionItems.stream().forEach(item -> response.addCompletionItem(item));
         }
     }
 
+    @Override
+    public void onAttributeValue(String valuePrefix, ICompletionRequest request, ICompletionResponse response)
+            throws Exception {
+        if (!LibertyUtils.isServerXMLFile(request.getXMLDocument()))
+            return;
+
+        DOMElement element = request.getParentElement();
+        String attributeName = request.getCurrentAttributeName();
+        if (element == null || attributeName == null || !attributeName.endsWith(LibertyConstants.REF_SUFFIX))
+            return;
+
+        // offer the ids declared by the kind of element that is referenced
+        ConfigSymbolService symbolService = ConfigSymbolService.getInstance();
+        String referencedElement = symbolService.getReferencedElement(element, attributeName);
+        for (String id : symbolService.getSymbolTable(request.getXMLDocument()).getDeclaredIds(referencedElement)) {
+            CompletionItem item = new CompletionItem();
+            item.setLabel(id);
+            item.setKind(CompletionItemKind.Reference);
+            item.setTextEdit(new TextEdit(request.getReplaceRange(), request.getInsertAttrValue(id)));
+            response.addCompletionItem(item);
+        }
+    }
+
     private CompletionItem buildFeatureCompletionItem(Feature feature, DOMElement featureElement,
             DOMDocument document) {
         String featureName = feature.getWlpInformation().getShortName();
@@ -59,14 +87,43 @@ public class LibertyCompletionParticipant extends CompletionParticipantAdapter {
         return item;
     }
 
-    private List<CompletionItem> buildCompletionItems(DOMElement featureElement, DOMDocument document) {
-        final String libertyVersion = SettingsService.getInstance().getLibertyVersion();
+    private List<CompletionItem> buildCompletionItems(DOMElement featureElement, DOMDocument document,
+            int offset) {
+        final String libertyVersion = SettingsService.getInstance().getLibertyVersion(document);
         final int requestDelay = SettingsService.getInstance().getRequestDelay();
-        List<Feature> features = FeatureService.getInstance().getFeatures(libertyVersion, requestDelay);
+        FeatureCatalog catalog = FeatureService.getInstance().getFeatureCatalog(libertyVersion, requestDelay);
 
-        List<CompletionItem> items = features.stream()
-                .map(feat -> buildFeatureCompletionItem(feat, featureElement, document)).collect(Collectors.toList());
+        // with nothing typed yet offer every feature, otherwise offer the ranked
+        // results of searching the catalog for what has been typed so far
+        String query = getTypedFeatureText(featureElement, document, offset);
+        if (query.isEmpty()) {
+            return catalog.getFeatures().stream()
+                    .map(feat -> buildFeatureCompletionItem(feat, featureElement, document))
+                    .collect(Collectors.toList());
+        }
 
+        List<Feature> matches = catalog.search(query);
+        List<CompletionItem> items = new ArrayList<>();
+        for (int i = 0; i < matches.size(); i++) {
+            CompletionItem item = buildFeatureCompletionItem(matches.get(i), featureElement, document);
+            // matches may not start with the typed text, so keep the client from
+            // filtering them out and preserve the search ranking
+            item.setFilterText(query);
+            item.setSortText(String.format("%04d", i));
+            items.add(item);
+        }
         return items;
     }
+
+    /**
+     * Returns the text between the <feature> start tag and the cursor
+     */
+    private String getTypedFeatureText(DOMElement featureElement, DOMDocument document, int offset) {
+        int start = featureElement.getStartTagCloseOffset() + 1;
+        String text = document.getText();
+        if (start < 0 || offset <= start || offset > text.length()) {
+            return "";
+        }
+        return text.substring(start, offset).trim();
+    }
 }
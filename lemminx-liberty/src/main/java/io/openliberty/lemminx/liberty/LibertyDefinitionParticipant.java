@@ -0,0 +1,36 @@
+package io.openliberty.lemminx.liberty;
+
+import org.eclipse.lemminx.dom.DOMDocument;
+import org.eclipse.lemminx.services.extensions.IDefinitionParticipant;
+import org.eclipse.lemminx.services.extensions.IDefinitionRequest;
+import org.eclipse.lsp4j.LocationLink;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
+import io.openliberty.lemminx.liberty.services.ConfigSymbol;
+import io.openliberty.lemminx.liberty.services.ConfigSymbolService;
+import io.openliberty.lemminx.liberty.services.ConfigSymbolTable;
+import io.openliberty.lemminx.liberty.util.*;
+
+import java.util.List;
+
+public class LibertyDefinitionParticipant implements IDefinitionParticipant {
+
+    @Override
+    public void findDefinition(IDefinitionRequest request, List<LocationLink> locations,
+            CancelChecker cancelChecker) {
+        DOMDocument document = request.getXMLDocument();
+        if (!LibertyUtils.isServerXMLFile(document))
+            return;
+
+        ConfigSymbolTable symbolTable = ConfigSymbolService.getInstance().getSymbolTable(document);
+        ConfigSymbol reference = symbolTable.getSymbolAt(request.getOffset());
+        if (reference == null || reference.getKind() != ConfigSymbol.Kind.REFERENCE)
+            return;
+
+        Range originRange = symbolTable.getRange(reference);
+        for (ConfigSymbol declaration : symbolTable.findDeclarations(reference)) {
+            Range targetRange = symbolTable.getRange(declaration);
+            locations.add(new LocationLink(declaration.getUri(), targetRange, targetRange, originRange));
+        }
+    }
+}
@@ -1,53 +1,80 @@
 package io.openliberty.lemminx.liberty;
 
 import org.eclipse.lemminx.dom.DOMDocument;
+import org.eclipse.lemminx.dom.DOMElement;
 import org.eclipse.lemminx.dom.DOMNode;
 import org.eclipse.lemminx.services.extensions.diagnostics.IDiagnosticsParticipant;
 import org.eclipse.lemminx.utils.XMLPositionUtility;
 import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.DiagnosticSeverity;
 import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.jsonrpc.CancelChecker;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
+import io.openliberty.lemminx.liberty.services.ConfigSymbol;
+import io.openliberty.lemminx.liberty.services.ConfigSymbolService;
+import io.openliberty.lemminx.liberty.services.ConfigSymbolTable;
+import io.openliberty.lemminx.liberty.services.FeatureCatalog;
 import io.openliberty.lemminx.liberty.services.FeatureService;
+import io.openliberty.lemminx.liberty.services.FileProbeService;
+import io.openliberty.lemminx.liberty.services.FileProbeService.FileStatus;
+import io.openliberty.lemminx.liberty.services.SchemaReferenceService;
 import io.openliberty.lemminx.liberty.services.SettingsService;
 import io.openliberty.lemminx.liberty.util.*;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
 
 public class LibertyDiagnosticParticipant implements IDiagnosticsParticipant {
 
+    // milliseconds to wait for paths that have never been probed
+    private static final long PROBE_WAIT = 100;
+
     @Override
     public void doDiagnostics(DOMDocument domDocument, List<Diagnostic> list, CancelChecker cancelChecker) {
         if (!LibertyUtils.isServerXMLFile(domDocument))
             return;
 
         try {
-            validateFeatures(domDocument, list);
+            DOMNode featureManager = getFeatureManager(domDocument);
+            // No need for validation if there is no <featureManager>
+            if (featureManager != null) {
+                final String libertyVersion = SettingsService.getInstance().getLibertyVersion(domDocument);
+                final int requestDelay = SettingsService.getInstance().getRequestDelay();
+                FeatureCatalog catalog = FeatureService.getInstance().getFeatureCatalog(libertyVersion, requestDelay);
+                Set<String> includedFeatures = validateFeatures(domDocument, featureManager, catalog, list);
+                validateConfigElements(domDocument, includedFeatures, catalog, list);
+            }
+            validateReferences(domDocument, list);
+            validateLocations(domDocument, list);
         } catch (IOException e) {
             System.err.println("Error validating features");
             System.err.println(e.getMessage());
         }
     }
 
-    private void validateFeatures(DOMDocument domDocument, List<Diagnostic> list) throws IOException {
+    /**
+     * Returns the <featureManager> element, or null if there is none
+     */
+    private DOMNode getFeatureManager(DOMDocument domDocument) {
         NodeList nodes = domDocument.getDocumentElement().getChildNodes();
-        Node featureManager = null;
-        // find <featureManager> element if it exists
         for (int i = 0; i < nodes.getLength(); i++) {
             Node node = nodes.item(i);
             if (LibertyConstants.FEATURE_MANAGER_ELEMENT.equals(node.getNodeName())) {
-                featureManager = node;
-                break;
+                return (DOMNode) node;
             }
         }
-        // No need for validation if there is no <featureManager>
-        if (featureManager == null) {
-            return;
-        }
+        return null;
+    }
 
-        final String libertyVersion = SettingsService.getInstance().getLibertyVersion();
-        final int requestDelay = SettingsService.getInstance().getRequestDelay();
+    /**
+     * Reports features that do not exist or are included more than once
+     *
+     * @return the features included in <featureManager>
+     */
+    private Set<String> validateFeatures(DOMDocument domDocument, DOMNode featureManager, FeatureCatalog catalog,
+            List<Diagnostic> list) throws IOException {
+        final int javaLevel = SettingsService.getInstance().getJavaLevel(domDocument);
 
         // Search for duplicate features
         // or features that do not exist
@@ -56,12 +83,18 @@ public class LibertyDiagnosticParticipant implements IDiagnosticsParticipant {
         for (int i = 0; i < features.getLength(); i++) {
             DOMNode featureNode = (DOMNode) features.item(i);
             DOMNode featureTextNode = (DOMNode) featureNode.getChildNodes().item(0);
+            // skip nodes that do not have any text value (ie. comments)
+            if (featureTextNode == null) {
+                continue;
+            }
             String featureName = featureTextNode.getTextContent();
-            if (!FeatureService.getInstance().featureExists(featureName, libertyVersion, requestDelay)) {
+            if (!catalog.getFeature(featureName).isPresent()) {
                 Range range = XMLPositionUtility.createRange(featureTextNode.getStart(), featureTextNode.getEnd(),
                         domDocument);
                 String message = "ERROR: The " + featureName + " feature does not exist.";
-                list.add(new Diagnostic(range, message));
+                Diagnostic diagnostic = new Diagnostic(range, message);
+                diagnostic.setCode(LibertyConstants.FEATURE_NOT_EXIST_CODE);
+                list.add(diagnostic);
             } else {
                 if (includedFeatures.contains(featureName)) {
                     Range range = XMLPositionUtility.createRange(featureTextNode.getStart(), featureTextNode.getEnd(),
@@ -70,9 +103,166 @@ public class LibertyDiagnosticParticipant implements IDiagnosticsParticipant {
                     list.add(new Diagnostic(range, message));
                 } else {
                     includedFeatures.add(featureName);
+                    if (javaLevel != -1) {
+                        validateJavaLevel(domDocument, featureTextNode, featureName, catalog, javaLevel, list);
+                    }
                 }
             }
         }
+        return includedFeatures;
+    }
+
+    /**
+     * Reports a feature that needs a newer java level than the project uses
+     */
+    private void validateJavaLevel(DOMDocument domDocument, DOMNode featureTextNode, String featureName,
+            FeatureCatalog catalog, int javaLevel, List<Diagnostic> list) {
+        int minJavaLevel = catalog.getMinJavaLevel(featureName);
+        if (javaLevel >= minJavaLevel) {
+            return;
+        }
+        String message = "WARNING: The " + featureName + " feature requires Java SE " + minJavaLevel
+                + " or later, but the project uses Java SE " + javaLevel + ".";
+        Range range = XMLPositionUtility.createRange(featureTextNode.getStart(), featureTextNode.getEnd(),
+                domDocument);
+        Diagnostic diagnostic = new Diagnostic(range, message);
+        diagnostic.setSeverity(DiagnosticSeverity.Warning);
+        diagnostic.setCode(LibertyConstants.JAVA_VERSION_NOT_SUPPORTED_CODE);
+        list.add(diagnostic);
+    }
+
+    /**
+     * Reports config elements that liberty ignores because none of the features
+     * that provide them are enabled, in server.xml or its config dropins
+     */
+    private void validateConfigElements(DOMDocument domDocument, Set<String> includedFeatures,
+            FeatureCatalog catalog, List<Diagnostic> list) {
+        List<DOMNode> configElements = new ArrayList<>();
+        NodeList nodes = domDocument.getDocumentElement().getChildNodes();
+        for (int i = 0; i < nodes.getLength(); i++) {
+            DOMNode node = (DOMNode) nodes.item(i);
+            if (!node.isElement()) {
+                continue;
+            }
+            // features enabled by included files are not known here
+            if (LibertyConstants.INCLUDE_ELEMENT.equals(node.getNodeName())) {
+                return;
+            }
+            configElements.add(node);
+        }
+
+        // features enabled in configDropins apply to the whole server
+        ConfigSymbolTable symbolTable = ConfigSymbolService.getInstance().getSymbolTable(domDocument);
+        if (!symbolTable.isComplete()) {
+            return;
+        }
+        Set<String> enabledFeatures = new HashSet<>(includedFeatures);
+        enabledFeatures.addAll(symbolTable.getDropinFeatures());
+
+        for (DOMNode element : configElements) {
+            String elementName = element.getNodeName();
+            if (!catalog.isConfigElementEnabled(elementName, enabledFeatures)) {
+                Range range = XMLPositionUtility.createRange(element.getStart() + 1,
+                        element.getStart() + 1 + elementName.length(), domDocument);
+                String message = "WARNING: The " + elementName
+                        + " element is ignored because none of the features that provide it are enabled: "
+                        + String.join(", ", catalog.getProvidingFeatures(elementName)) + ".";
+                Diagnostic diagnostic = new Diagnostic(range, message);
+                diagnostic.setSeverity(DiagnosticSeverity.Warning);
+                diagnostic.setCode(LibertyConstants.FEATURE_NOT_ENABLED_CODE);
+                list.add(diagnostic);
+            }
+        }
+    }
+
+    /**
+     * Reports *Ref attributes that point to an id that no element declares
+     */
+    private void validateReferences(DOMDocument domDocument, List<Diagnostic> list) {
+        ConfigSymbolTable symbolTable = ConfigSymbolService.getInstance().getSymbolTable(domDocument);
+        // ids declared by included files that cannot be read are not known
+        if (!symbolTable.isComplete()) {
+            return;
+        }
+        for (ConfigSymbol reference : symbolTable.getSymbols(ConfigSymbol.Kind.REFERENCE)) {
+            String id = reference.getValue();
+            if (id.contains("${") || !symbolTable.findDeclarations(reference).isEmpty()
+                    || SchemaReferenceService.getInstance().isDefaultReferenceId(id)) {
+                continue;
+            }
+            String message = "WARNING: The " + id + " " + reference.getReferencedElement() + " referenced by "
+                    + reference.getAttributeName() + " does not exist.";
+            Diagnostic diagnostic = new Diagnostic(symbolTable.getRange(reference), message);
+            diagnostic.setSeverity(DiagnosticSeverity.Warning);
+            diagnostic.setCode(LibertyConstants.REFERENCE_NOT_FOUND_CODE);
+            list.add(diagnostic);
+        }
+    }
+
+    /**
+     * Reports includes, applications, filesets and files whose location does not
+     * exist. The paths are probed in the background, so a path that is slow to
+     * probe is only reported by a later validation. Nothing validates the
+     * document again when a late probe completes, so it is reported after the
+     * next edit of the document.
+     */
+    private void validateLocations(DOMDocument domDocument, List<Diagnostic> list) {
+        Path serverXML = LibertyUtils.toPath(domDocument.getDocumentURI());
+        if (serverXML == null || serverXML.getParent() == null) {
+            return;
+        }
+        Path configDirectory = serverXML.getParent();
+        Path appsDirectory = configDirectory.resolve(LibertyConstants.APPS_DIR);
+        FileProbeService probeService = FileProbeService.getInstance();
+        ConfigSymbolTable symbolTable = ConfigSymbolService.getInstance().getSymbolTable(domDocument);
+
+        Map<ConfigSymbol, Path> locations = new LinkedHashMap<>();
+        for (ConfigSymbol symbol : symbolTable.getSymbols(ConfigSymbol.Kind.INCLUDE)) {
+            // a missing optional include is not an error
+            DOMNode include = domDocument.findNodeAt(symbol.getStart());
+            if (include instanceof DOMElement && "true"
+                    .equalsIgnoreCase(((DOMElement) include).getAttribute(LibertyConstants.OPTIONAL_ATTRIBUTE))) {
+                continue;
+            }
+            locations.put(symbol, probeService.resolve(configDirectory, configDirectory, symbol.getValue()));
+        }
+        for (ConfigSymbol symbol : symbolTable.getSymbols(ConfigSymbol.Kind.LOCATION)) {
+            // applications are looked up in the apps directory of the server
+            boolean isApplication = LibertyConstants.LOCATION_ATTRIBUTE.equals(symbol.getAttributeName());
+            Path baseDirectory = isApplication ? appsDirectory : configDirectory;
+            locations.put(symbol, probeService.resolve(configDirectory, baseDirectory, symbol.getValue()));
+        }
+        locations.values().removeIf(Objects::isNull);
+        if (locations.isEmpty()) {
+            return;
+        }
 
+        List<Path> paths = new ArrayList<>(locations.values());
+        paths.add(appsDirectory);
+        Map<Path, FileStatus> statuses = probeService.probe(paths, PROBE_WAIT);
+        // without an apps directory the applications are installed by a build
+        boolean hasAppsDirectory = statuses.get(appsDirectory) == FileStatus.DIRECTORY;
+
+        for (Map.Entry<ConfigSymbol, Path> location : locations.entrySet()) {
+            ConfigSymbol symbol = location.getKey();
+            FileStatus status = statuses.get(location.getValue());
+            if (status == null || (!hasAppsDirectory && location.getValue().startsWith(appsDirectory))) {
+                continue;
+            }
+            boolean isDirectory = LibertyConstants.DIR_ATTRIBUTE.equals(symbol.getAttributeName());
+            String message;
+            if (status == FileStatus.MISSING) {
+                message = "WARNING: The " + (isDirectory ? "directory " : "file ") + symbol.getValue()
+                        + " does not exist.";
+            } else if (isDirectory && status == FileStatus.FILE) {
+                message = "WARNING: " + symbol.getValue() + " is not a directory.";
+            } else {
+                continue;
+            }
+            Diagnostic diagnostic = new Diagnostic(symbolTable.getRange(symbol), message);
+            diagnostic.setSeverity(DiagnosticSeverity.Warning);
+            diagnostic.setCode(LibertyConstants.LOCATION_NOT_FOUND_CODE);
+            list.add(diagnostic);
+        }
     }
 }
@@ -1,7 +1,10 @@
 package io.openliberty.lemminx.liberty;
 
+import org.eclipse.lemminx.services.extensions.ICodeActionParticipant;
 import org.eclipse.lemminx.services.extensions.ICompletionParticipant;
+import org.eclipse.lemminx.services.extensions.IDefinitionParticipant;
 import org.eclipse.lemminx.services.extensions.IHoverParticipant;
+import org.eclipse.lemminx.services.extensions.IReferenceParticipant;
 import org.eclipse.lemminx.services.extensions.IXMLExtension;
 import org.eclipse.lemminx.services.extensions.XMLExtensionsRegistry;
 import org.eclipse.lemminx.services.extensions.diagnostics.IDiagnosticsParticipant;
@@ -12,6 +15,7 @@ import org.eclipse.lsp4j.InitializeParams;
 
 import java.util.logging.Logger;
 
+import io.openliberty.lemminx.liberty.services.ProjectService;
 import io.openliberty.lemminx.liberty.services.SettingsService;
 
 public class LibertyExtension implements IXMLExtension {
@@ -22,6 +26,9 @@ public class LibertyExtension implements IXMLExtension {
     private ICompletionParticipant completionParticipant;
     private IHoverParticipant hoverParticipant;
     private IDiagnosticsParticipant diagnosticsParticipant;
+    private ICodeActionParticipant codeActionParticipant;
+    private IDefinitionParticipant definitionParticipant;
+    private IReferenceParticipant referenceParticipant;
 
     @Override
     public void start(InitializeParams initializeParams, XMLExtensionsRegistry xmlExtensionsRegistry) {
@@ -36,6 +43,15 @@ public class LibertyExtension implements IXMLExtension {
 
         diagnosticsParticipant = new LibertyDiagnosticParticipant();
         xmlExtensionsRegistry.registerDiagnosticsParticipant(diagnosticsParticipant);
+
+        codeActionParticipant = new LibertyCodeActionParticipant();
+        xmlExtensionsRegistry.registerCodeActionParticipant(codeActionParticipant);
+
+        definitionParticipant = new LibertyDefinitionParticipant();
+        xmlExtensionsRegistry.registerDefinitionParticipant(definitionParticipant);
+
+        referenceParticipant = new LibertyReferenceParticipant();
+        xmlExtensionsRegistry.registerReferenceParticipant(referenceParticipant);
     }
 
     @Override
@@ -44,18 +60,22 @@ public class LibertyExtension implements IXMLExtension {
         xmlExtensionsRegistry.unregisterCompletionParticipant(completionParticipant);
         xmlExtensionsRegistry.unregisterHoverParticipant(hoverParticipant);
         xmlExtensionsRegistry.unregisterDiagnosticsParticipant(diagnosticsParticipant);
+        xmlExtensionsRegistry.unregisterCodeActionParticipant(codeActionParticipant);
+        xmlExtensionsRegistry.unregisterDefinitionParticipant(definitionParticipant);
+        xmlExtensionsRegistry.unregisterReferenceParticipant(referenceParticipant);
     }
 
     // Do save is called on startup with a Settings update
     // and any time the settings are updated.
     @Override
     public void doSave(ISaveContext saveContext) {
-        // Only need to update settings if the save event was for settings
-        // Not if an xml file was updated.
         if (saveContext.getType() == SaveContextType.SETTINGS) {
             Object xmlSettings = saveContext.getSettings();
             SettingsService.getInstance().updateLibertySettings(xmlSettings);
             LOGGER.fine("Liberty XML settings updated");
+        } else if (saveContext.getType() == SaveContextType.DOCUMENT) {
+            // a pom.xml saved in this server may pin a different liberty version
+            ProjectService.getInstance().invalidate(saveContext.getUri());
         }
     }
 }
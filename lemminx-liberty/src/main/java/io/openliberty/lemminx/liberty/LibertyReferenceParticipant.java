@@ -0,0 +1,61 @@
+package io.openliberty.lemminx.liberty;
+
+import org.eclipse.lemminx.commons.BadLocationException;
+import org.eclipse.lemminx.dom.DOMDocument;
+import org.eclipse.lemminx.services.extensions.IReferenceParticipant;
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.ReferenceContext;
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
+import io.openliberty.lemminx.liberty.services.ConfigSymbol;
+import io.openliberty.lemminx.liberty.services.ConfigSymbolService;
+import io.openliberty.lemminx.liberty.services.ConfigSymbolTable;
+import io.openliberty.lemminx.liberty.util.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+public class LibertyReferenceParticipant implements IReferenceParticipant {
+
+    @Override
+    public void findReference(DOMDocument document, Position position, ReferenceContext context,
+            List<Location> locations, CancelChecker cancelChecker) {
+        if (!LibertyUtils.isServerXMLFile(document))
+            return;
+
+        int offset;
+        try {
+            offset = document.offsetAt(position);
+        } catch (BadLocationException e) {
+            return;
+        }
+        ConfigSymbolTable symbolTable = ConfigSymbolService.getInstance().getSymbolTable(document);
+        ConfigSymbol symbol = symbolTable.getSymbolAt(offset);
+        if (symbol == null || symbol.getKind() == ConfigSymbol.Kind.INCLUDE)
+            return;
+
+        // from a reference, find the references to what it resolves to
+        List<ConfigSymbol> declarations = new ArrayList<>();
+        if (symbol.getKind() == ConfigSymbol.Kind.DECLARATION) {
+            declarations.add(symbol);
+        } else {
+            declarations.addAll(symbolTable.findDeclarations(symbol));
+        }
+
+        Set<ConfigSymbol> matches = new LinkedHashSet<>();
+        for (ConfigSymbol declaration : declarations) {
+            if (context.isIncludeDeclaration()) {
+                matches.add(declaration);
+            }
+            matches.addAll(symbolTable.findReferences(declaration));
+        }
+        if (declarations.isEmpty()) {
+            matches.add(symbol);
+        }
+        for (ConfigSymbol match : matches) {
+            locations.add(new Location(match.getUri(), symbolTable.getRange(match)));
+        }
+    }
+}
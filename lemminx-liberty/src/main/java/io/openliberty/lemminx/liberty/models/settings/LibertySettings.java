@@ -1,5 +1,7 @@
 package io.openliberty.lemminx.liberty.models.settings;
 
+import java.util.List;
+
 /**
  * Model for settings under the 'liberty' key in xml settings
  * Ie. version refers to: xml.liberty.version
@@ -8,6 +10,13 @@ public class LibertySettings {
 
   private String version;
   private int requestDelay; // in seconds
+  // maven repositories to fetch feature lists from before maven central,
+  // either local repository directories or remote mirror urls
+  private List<String> featureRepositories;
+  // local liberty installation (wlp directory) to read the features from
+  private String installationDirectory;
+  // java version the project runs on, when it is not in its build file
+  private String javaVersion;
 
   public String getVersion() {
     return version;
@@ -25,4 +34,28 @@ public class LibertySettings {
     this.requestDelay = requestDelay;
   }
 
+  public List<String> getFeatureRepositories() {
+    return featureRepositories;
+  }
+
+  public void setFeatureRepositories(List<String> featureRepositories) {
+    this.featureRepositories = featureRepositories;
+  }
+
+  public String getInstallationDirectory() {
+    return installationDirectory;
+  }
+
+  public void setInstallationDirectory(String installationDirectory) {
+    this.installationDirectory = installationDirectory;
+  }
+
+  public String getJavaVersion() {
+    return javaVersion;
+  }
+
+  public void setJavaVersion(String javaVersion) {
+    this.javaVersion = javaVersion;
+  }
+
 }
@@ -0,0 +1,84 @@
+package io.openliberty.lemminx.liberty.services;
+
+import org.eclipse.lsp4j.Range;
+
+/**
+ * An id declared by a config element, a reference to one through a *Ref
+ * attribute, the location of an included file, or another attribute that
+ * points to a file or directory
+ */
+public class ConfigSymbol {
+
+  public enum Kind {
+    DECLARATION, REFERENCE, INCLUDE, LOCATION
+  }
+
+  private final Kind kind;
+  private final String elementName;
+  private final String attributeName;
+  private final String value;
+  // element that a reference points to, ie. library for libraryRef
+  private final String referencedElement;
+  private final String uri;
+  private final int start;
+  private final int end;
+  // only set for symbols of included files, whose text is not kept
+  private final Range range;
+
+  ConfigSymbol(Kind kind, String elementName, String attributeName, String value, String referencedElement,
+      String uri, int start, int end, Range range) {
+    this.kind = kind;
+    this.elementName = elementName;
+    this.attributeName = attributeName;
+    this.value = value;
+    this.referencedElement = referencedElement;
+    this.uri = uri;
+    this.start = start;
+    this.end = end;
+    this.range = range;
+  }
+
+  /**
+   * Returns a copy of this symbol moved by the length of an edit before it
+   */
+  ConfigSymbol shift(int delta) {
+    return new ConfigSymbol(kind, elementName, attributeName, value, referencedElement, uri, start + delta,
+        end + delta, range);
+  }
+
+  public Kind getKind() {
+    return kind;
+  }
+
+  public String getElementName() {
+    return elementName;
+  }
+
+  public String getAttributeName() {
+    return attributeName;
+  }
+
+  public String getValue() {
+    return value;
+  }
+
+  public String getReferencedElement() {
+    return referencedElement;
+  }
+
+  public String getUri() {
+    return uri;
+  }
+
+  public int getStart() {
+    return start;
+  }
+
+  public int getEnd() {
+    return end;
+  }
+
+  Range getRange() {
+    return range;
+  }
+}
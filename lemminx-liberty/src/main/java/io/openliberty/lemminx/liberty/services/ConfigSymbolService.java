@@ -0,0 +1,493 @@
+package io.openliberty.lemminx.liberty.services;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.eclipse.lemminx.dom.DOMAttr;
+import org.eclipse.lemminx.dom.DOMDocument;
+import org.eclipse.lemminx.dom.DOMElement;
+import org.eclipse.lemminx.dom.DOMNode;
+import org.eclipse.lemminx.dom.DOMParser;
+import org.eclipse.lemminx.utils.XMLPositionUtility;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import io.openliberty.lemminx.liberty.services.ConfigSymbol.Kind;
+import io.openliberty.lemminx.liberty.util.LibertyConstants;
+import io.openliberty.lemminx.liberty.util.LibertyUtils;
+
+public class ConfigSymbolService {
+
+  // number of documents whose symbols are kept between edits
+  private static final int MAX_DOCUMENTS = 16;
+
+  // minimum milliseconds between checks of included files for changes
+  private static final long RECHECK_INTERVAL = 5000;
+
+  // Singleton so that only 1 Config Symbol Service can be initialized and is
+  // shared between all Lemminx Language Feature Participants
+
+  private static ConfigSymbolService instance = new ConfigSymbolService();
+
+  public static ConfigSymbolService getInstance() {
+    return instance;
+  }
+
+  // Cache of document uri -> symbols of its last version, least recently used
+  // first
+  private final Map<String, DocumentSymbols> documents = new LinkedHashMap<String, DocumentSymbols>(16, 0.75f,
+      true) {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, DocumentSymbols> eldest) {
+      return size() > MAX_DOCUMENTS;
+    }
+  };
+  // Cache of included file -> its symbols
+  private final Map<Path, IncludedFile> includedFiles = new HashMap<>();
+
+  private ConfigSymbolService() {
+  }
+
+  /**
+   * Returns the symbol table of a document. Only the top level config elements
+   * whose text changed since the last version of the document are walked
+   * again, the symbols of the other elements are reused.
+   *
+   * @param document - server.xml document
+   * @return ids and references of the document and the ids of its includes and
+   *         config dropins
+   */
+  public synchronized ConfigSymbolTable getSymbolTable(DOMDocument document) {
+    String uri = document.getDocumentURI();
+    String text = document.getText();
+    long currentTime = System.currentTimeMillis();
+    DocumentSymbols previous = documents.get(uri);
+    if (previous != null && previous.document == document
+        && currentTime < previous.checkedTime + RECHECK_INTERVAL) {
+      return previous.table;
+    }
+
+    List<DOMElement> elements = getConfigElements(document);
+    List<Segment> oldSegments = previous == null ? Collections.emptyList() : previous.segments;
+    String oldText = previous == null ? "" : previous.text;
+    Segment[] segments = new Segment[elements.size()];
+
+    // reuse the unchanged elements before and after the edited region
+    int prefix = 0;
+    while (prefix < segments.length && prefix < oldSegments.size()
+        && isUnchanged(elements.get(prefix), text, oldSegments.get(prefix), oldText)) {
+      segments[prefix] = oldSegments.get(prefix).moveTo(elements.get(prefix).getStart());
+      prefix++;
+    }
+    int suffix = 0;
+    while (suffix < segments.length - prefix && suffix < oldSegments.size() - prefix) {
+      DOMElement element = elements.get(segments.length - 1 - suffix);
+      Segment oldSegment = oldSegments.get(oldSegments.size() - 1 - suffix);
+      if (!isUnchanged(element, text, oldSegment, oldText)) {
+        break;
+      }
+      segments[segments.length - 1 - suffix] = oldSegment.moveTo(element.getStart());
+      suffix++;
+    }
+    for (int i = prefix; i < segments.length - suffix; i++) {
+      DOMElement element = elements.get(i);
+      List<ConfigSymbol> symbols = new ArrayList<>();
+      collectSymbols(element, rootPath(document), text, uri, null, symbols);
+      segments[i] = new Segment(element.getStart(), element.getEnd(), symbols);
+    }
+
+    List<ConfigSymbol> symbols = new ArrayList<>();
+    List<String> includes = new ArrayList<>();
+    for (Segment segment : segments) {
+      for (ConfigSymbol symbol : segment.symbols) {
+        symbols.add(symbol);
+        if (symbol.getKind() == Kind.INCLUDE) {
+          includes.add(symbol.getValue());
+        }
+      }
+    }
+    List<ConfigSymbol> includedDeclarations = new ArrayList<>();
+    boolean complete = true;
+    Path serverXML = LibertyUtils.toPath(uri);
+    Path configDirectory = serverXML == null ? null : serverXML.getParent();
+    Set<Path> visited = new HashSet<>();
+    if (serverXML != null) {
+      visited.add(serverXML);
+    }
+    if (!includes.isEmpty()) {
+      complete = collectIncludedDeclarations(configDirectory, configDirectory, includes, visited,
+          includedDeclarations, currentTime);
+    }
+    Set<String> dropinFeatures = new HashSet<>();
+    if (configDirectory != null) {
+      complete &= collectDropinDeclarations(configDirectory, visited, includedDeclarations, dropinFeatures,
+          currentTime);
+    }
+
+    List<Segment> segmentList = new ArrayList<>(segments.length);
+    Collections.addAll(segmentList, segments);
+    ConfigSymbolTable table = new ConfigSymbolTable(document, symbols, includedDeclarations, dropinFeatures,
+        complete);
+    documents.put(uri, new DocumentSymbols(document, text, segmentList, table, currentTime));
+    return table;
+  }
+
+  /**
+   * Returns the name of the element that a reference attribute points to, ie.
+   * library for the libraryRef attribute of jdbcDriver
+   */
+  public String getReferencedElement(DOMElement element, String attributeName) {
+    List<String> path = new LinkedList<>();
+    for (DOMNode node = element; node != null && node.isElement(); node = node.getParentNode()) {
+      path.add(0, ((DOMElement) node).getTagName());
+    }
+    return getReferencedElement(path, attributeName);
+  }
+
+  private String getReferencedElement(List<String> path, String attributeName) {
+    return SchemaReferenceService.getInstance().getReferencedElement(path, attributeName)
+        .orElse(attributeName.substring(0, attributeName.length() - LibertyConstants.REF_SUFFIX.length()));
+  }
+
+  /**
+   * Returns the config elements of the document, which are the units that
+   * symbols are reused in
+   */
+  private List<DOMElement> getConfigElements(DOMDocument document) {
+    List<DOMElement> elements = new ArrayList<>();
+    DOMElement root = document.getDocumentElement();
+    if (root == null) {
+      return elements;
+    }
+    NodeList nodes = root.getChildNodes();
+    for (int i = 0; i < nodes.getLength(); i++) {
+      Node node = nodes.item(i);
+      if (node.getNodeType() == Node.ELEMENT_NODE) {
+        elements.add((DOMElement) node);
+      }
+    }
+    return elements;
+  }
+
+  private List<String> rootPath(DOMDocument document) {
+    List<String> path = new ArrayList<>();
+    path.add(document.getDocumentElement().getTagName());
+    return path;
+  }
+
+  private boolean isUnchanged(DOMElement element, String text, Segment segment, String oldText) {
+    int length = element.getEnd() - element.getStart();
+    return length == segment.end - segment.start
+        && text.regionMatches(element.getStart(), oldText, segment.start, length);
+  }
+
+  /**
+   * Collects the ids, references and includes of an element and its children
+   *
+   * @param included - the included document that ranges are computed against,
+   *                 or null for the edited document
+   */
+  private void collectSymbols(DOMElement element, List<String> parentPath, String text, String uri,
+      DOMDocument included, List<ConfigSymbol> symbols) {
+    String elementName = element.getTagName();
+    if (elementName == null) {
+      return;
+    }
+    List<String> path = new ArrayList<>(parentPath);
+    path.add(elementName);
+
+    List<DOMAttr> attributes = element.getAttributeNodes();
+    if (attributes != null) {
+      for (DOMAttr attr : attributes) {
+        String name = attr.getName();
+        DOMNode valueNode = attr.getNodeAttrValue();
+        if (name == null || valueNode == null) {
+          continue;
+        }
+        Kind kind = getKind(elementName, name);
+        if (kind != null) {
+          addSymbol(kind, elementName, name, null, valueNode.getStart(), valueNode.getEnd(), text, uri, included,
+              symbols);
+        } else if (name.endsWith(LibertyConstants.REF_SUFFIX) && name.length() > LibertyConstants.REF_SUFFIX.length()) {
+          String referencedElement = getReferencedElement(path, name);
+          // a reference may be a comma separated list of ids
+          int start = valueNode.getStart();
+          int end = valueNode.getEnd();
+          if (isQuoted(text, start, end)) {
+            start++;
+            end--;
+          }
+          int tokenStart = start;
+          for (int i = start; i <= end; i++) {
+            if (i == end || text.charAt(i) == ',') {
+              addSymbol(Kind.REFERENCE, elementName, name, referencedElement, tokenStart, i, text, uri, included,
+                  symbols);
+              tokenStart = i + 1;
+            }
+          }
+        }
+      }
+    }
+
+    NodeList children = element.getChildNodes();
+    for (int i = 0; i < children.getLength(); i++) {
+      if (children.item(i).getNodeType() == Node.ELEMENT_NODE) {
+        collectSymbols((DOMElement) children.item(i), path, text, uri, included, symbols);
+      }
+    }
+  }
+
+  /**
+   * Returns the kind of symbol that an attribute value is, or null if it is
+   * not an id, include or location. References are handled separately.
+   */
+  private Kind getKind(String elementName, String attributeName) {
+    if (LibertyConstants.ID_ATTRIBUTE.equals(attributeName)) {
+      return Kind.DECLARATION;
+    }
+    switch (elementName) {
+      case LibertyConstants.INCLUDE_ELEMENT:
+        return LibertyConstants.LOCATION_ATTRIBUTE.equals(attributeName) ? Kind.INCLUDE : null;
+      case LibertyConstants.APPLICATION_ELEMENT:
+      case LibertyConstants.WEB_APPLICATION_ELEMENT:
+      case LibertyConstants.ENTERPRISE_APPLICATION_ELEMENT:
+        return LibertyConstants.LOCATION_ATTRIBUTE.equals(attributeName) ? Kind.LOCATION : null;
+      case LibertyConstants.FILESET_ELEMENT:
+        return LibertyConstants.DIR_ATTRIBUTE.equals(attributeName) ? Kind.LOCATION : null;
+      case LibertyConstants.FILE_ELEMENT:
+        return LibertyConstants.NAME_ATTRIBUTE.equals(attributeName) ? Kind.LOCATION : null;
+      default:
+        return null;
+    }
+  }
+
+  private void addSymbol(Kind kind, String elementName, String attributeName, String referencedElement, int start,
+      int end, String text, String uri, DOMDocument included, List<ConfigSymbol> symbols) {
+    if (kind != Kind.REFERENCE && isQuoted(text, start, end)) {
+      start++;
+      end--;
+    }
+    // exclude the whitespace around the value
+    while (start < end && Character.isWhitespace(text.charAt(start))) {
+      start++;
+    }
+    while (end > start && Character.isWhitespace(text.charAt(end - 1))) {
+      end--;
+    }
+    if (start == end) {
+      return;
+    }
+    String value = text.substring(start, end);
+    symbols.add(new ConfigSymbol(kind, elementName, attributeName, value, referencedElement, uri, start, end,
+        included == null ? null : XMLPositionUtility.createRange(start, end, included)));
+  }
+
+  private boolean isQuoted(String text, int start, int end) {
+    return end - start >= 2 && (text.charAt(start) == '"' || text.charAt(start) == '\'')
+        && text.charAt(end - 1) == text.charAt(start);
+  }
+
+  /**
+   * Collects the declarations of included files and the files they include
+   *
+   * @return false if an include could not be resolved or read
+   */
+  private boolean collectIncludedDeclarations(Path configDirectory, Path baseDirectory, List<String> locations,
+      Set<Path> visited, List<ConfigSymbol> declarations, long currentTime) {
+    boolean complete = true;
+    for (String location : locations) {
+      Path file = FileProbeService.getInstance().resolve(configDirectory, baseDirectory, location);
+      if (file == null) {
+        complete = false;
+        continue;
+      }
+      if (!visited.add(file)) {
+        continue;
+      }
+      IncludedFile includedFile = getIncludedFile(file, currentTime);
+      if (includedFile == null) {
+        complete = false;
+        continue;
+      }
+      declarations.addAll(includedFile.declarations);
+      if (!includedFile.includes.isEmpty()) {
+        complete &= collectIncludedDeclarations(configDirectory, file.getParent(), includedFile.includes, visited,
+            declarations, currentTime);
+      }
+    }
+    return complete;
+  }
+
+  /**
+   * Collects the declarations and enabled features of the files in
+   * configDropins/defaults and configDropins/overrides, which the server merges
+   * with server.xml without an include
+   *
+   * @return false if a dropin directory or file could not be read
+   */
+  private boolean collectDropinDeclarations(Path configDirectory, Set<Path> visited, List<ConfigSymbol> declarations,
+      Set<String> features, long currentTime) {
+    boolean complete = true;
+    for (String dropinDirectory : new String[] { LibertyConstants.CONFIG_DROPINS_DEFAULTS_DIR,
+        LibertyConstants.CONFIG_DROPINS_OVERRIDES_DIR }) {
+      Path directory = configDirectory.resolve(dropinDirectory);
+      if (!Files.isDirectory(directory)) {
+        continue;
+      }
+      List<String> dropins = new ArrayList<>();
+      try (Stream<Path> files = Files.list(directory)) {
+        files.filter(file -> file.getFileName().toString().endsWith(".xml")).sorted()
+            .forEach(file -> dropins.add(file.toString()));
+      } catch (IOException e) {
+        complete = false;
+        continue;
+      }
+      complete &= collectIncludedDeclarations(configDirectory, directory, dropins, visited, declarations,
+          currentTime);
+      for (String dropin : dropins) {
+        IncludedFile dropinFile = getIncludedFile(Paths.get(dropin), currentTime);
+        if (dropinFile != null) {
+          features.addAll(dropinFile.features);
+        }
+      }
+    }
+    return complete;
+  }
+
+  private IncludedFile getIncludedFile(Path file, long currentTime) {
+    IncludedFile includedFile = includedFiles.get(file);
+    if (includedFile != null && currentTime < includedFile.checkedTime + RECHECK_INTERVAL) {
+      return includedFile.exists() ? includedFile : null;
+    }
+    long lastModified = -1;
+    try {
+      if (Files.isRegularFile(file)) {
+        lastModified = Files.getLastModifiedTime(file).toMillis();
+      }
+    } catch (IOException e) {
+      // treated as a missing file
+    }
+    if (includedFile == null || includedFile.lastModified != lastModified) {
+      includedFile = readIncludedFile(file, lastModified);
+      includedFiles.put(file, includedFile);
+    }
+    includedFile.checkedTime = currentTime;
+    return includedFile.exists() ? includedFile : null;
+  }
+
+  private IncludedFile readIncludedFile(Path file, long lastModified) {
+    IncludedFile includedFile = new IncludedFile(lastModified);
+    if (lastModified == -1) {
+      return includedFile;
+    }
+    try {
+      String text = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+      String uri = file.toUri().toString();
+      DOMDocument document = DOMParser.getInstance().parse(text, uri, null);
+      List<ConfigSymbol> symbols = new ArrayList<>();
+      for (DOMElement element : getConfigElements(document)) {
+        collectSymbols(element, rootPath(document), text, uri, document, symbols);
+        if (LibertyConstants.FEATURE_MANAGER_ELEMENT.equals(element.getTagName())) {
+          collectFeatures(element, includedFile.features);
+        }
+      }
+      for (ConfigSymbol symbol : symbols) {
+        if (symbol.getKind() == Kind.DECLARATION) {
+          includedFile.declarations.add(symbol);
+        } else if (symbol.getKind() == Kind.INCLUDE) {
+          includedFile.includes.add(symbol.getValue());
+        }
+      }
+    } catch (IOException e) {
+      return new IncludedFile(-1);
+    }
+    return includedFile;
+  }
+
+  private void collectFeatures(DOMElement featureManager, List<String> features) {
+    NodeList children = featureManager.getChildNodes();
+    for (int i = 0; i < children.getLength(); i++) {
+      Node child = children.item(i);
+      if (child.getNodeType() == Node.ELEMENT_NODE && LibertyConstants.FEATURE_ELEMENT.equals(child.getNodeName())) {
+        String feature = child.getTextContent();
+        if (feature != null && !feature.trim().isEmpty()) {
+          features.add(feature.trim());
+        }
+      }
+    }
+  }
+
+  /**
+   * The symbols of a config element, with the offsets it had in the document
+   * version they were collected from
+   */
+  private static class Segment {
+    private final int start;
+    private final int end;
+    private final List<ConfigSymbol> symbols;
+
+    Segment(int start, int end, List<ConfigSymbol> symbols) {
+      this.start = start;
+      this.end = end;
+      this.symbols = symbols;
+    }
+
+    Segment moveTo(int newStart) {
+      int delta = newStart - start;
+      if (delta == 0) {
+        return this;
+      }
+      List<ConfigSymbol> moved = new ArrayList<>(symbols.size());
+      symbols.forEach(symbol -> moved.add(symbol.shift(delta)));
+      return new Segment(newStart, end + delta, moved);
+    }
+  }
+
+  private static class DocumentSymbols {
+    private final DOMDocument document;
+    private final String text;
+    private final List<Segment> segments;
+    private final ConfigSymbolTable table;
+    private final long checkedTime;
+
+    DocumentSymbols(DOMDocument document, String text, List<Segment> segments, ConfigSymbolTable table,
+        long checkedTime) {
+      this.document = document;
+      this.text = text;
+      this.segments = segments;
+      this.table = table;
+      this.checkedTime = checkedTime;
+    }
+  }
+
+  private static class IncludedFile {
+    private final long lastModified;
+    private final List<ConfigSymbol> declarations = new ArrayList<>();
+    private final List<String> includes = new ArrayList<>();
+    private final List<String> features = new ArrayList<>();
+    private long checkedTime;
+
+    IncludedFile(long lastModified) {
+      this.lastModified = lastModified;
+    }
+
+    boolean exists() {
+      return lastModified != -1;
+    }
+  }
+}
@@ -0,0 +1,139 @@
+package io.openliberty.lemminx.liberty.services;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.lemminx.dom.DOMDocument;
+import org.eclipse.lemminx.utils.XMLPositionUtility;
+import org.eclipse.lsp4j.Range;
+
+import io.openliberty.lemminx.liberty.services.ConfigSymbol.Kind;
+
+/**
+ * The ids and references of a version of a server.xml, together with the ids
+ * declared by the files it includes
+ */
+public class ConfigSymbolTable {
+
+  private final DOMDocument document;
+  // symbols of the document itself, ordered by offset
+  private final List<ConfigSymbol> symbols;
+  private final Map<String, List<ConfigSymbol>> declarationsById;
+  // features enabled by the config dropins of the server
+  private final Set<String> dropinFeatures;
+  // false if an included file could not be read, so ids may be missing
+  private final boolean complete;
+
+  ConfigSymbolTable(DOMDocument document, List<ConfigSymbol> symbols, List<ConfigSymbol> includedDeclarations,
+      Set<String> dropinFeatures, boolean complete) {
+    this.document = document;
+    this.symbols = symbols;
+    this.dropinFeatures = dropinFeatures;
+    this.complete = complete;
+    this.declarationsById = new HashMap<>();
+    for (ConfigSymbol symbol : symbols) {
+      if (symbol.getKind() == Kind.DECLARATION) {
+        declarationsById.computeIfAbsent(symbol.getValue(), id -> new ArrayList<>()).add(symbol);
+      }
+    }
+    for (ConfigSymbol symbol : includedDeclarations) {
+      declarationsById.computeIfAbsent(symbol.getValue(), id -> new ArrayList<>()).add(symbol);
+    }
+  }
+
+  /**
+   * Returns the symbol of the document whose value contains the offset
+   */
+  public ConfigSymbol getSymbolAt(int offset) {
+    int low = 0;
+    int high = symbols.size() - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      ConfigSymbol symbol = symbols.get(mid);
+      if (offset < symbol.getStart()) {
+        high = mid - 1;
+      } else if (offset > symbol.getEnd()) {
+        low = mid + 1;
+      } else {
+        return symbol;
+      }
+    }
+    return null;
+  }
+
+  public List<ConfigSymbol> getSymbols(Kind kind) {
+    List<ConfigSymbol> matches = new ArrayList<>();
+    for (ConfigSymbol symbol : symbols) {
+      if (symbol.getKind() == kind) {
+        matches.add(symbol);
+      }
+    }
+    return matches;
+  }
+
+  /**
+   * Returns the declarations that a reference resolves to. Declarations on the
+   * referenced element are preferred over other elements with the same id.
+   */
+  public List<ConfigSymbol> findDeclarations(ConfigSymbol reference) {
+    List<ConfigSymbol> declarations = declarationsById.getOrDefault(reference.getValue(), Collections.emptyList());
+    List<ConfigSymbol> matches = new ArrayList<>();
+    for (ConfigSymbol declaration : declarations) {
+      if (declaration.getElementName().equals(reference.getReferencedElement())) {
+        matches.add(declaration);
+      }
+    }
+    return matches.isEmpty() ? declarations : matches;
+  }
+
+  /**
+   * Returns the references of the document that resolve to a declaration
+   */
+  public List<ConfigSymbol> findReferences(ConfigSymbol declaration) {
+    List<ConfigSymbol> references = new ArrayList<>();
+    for (ConfigSymbol symbol : symbols) {
+      if (symbol.getKind() == Kind.REFERENCE && symbol.getValue().equals(declaration.getValue())
+          && findDeclarations(symbol).contains(declaration)) {
+        references.add(symbol);
+      }
+    }
+    return references;
+  }
+
+  /**
+   * Returns the ids declared on an element, or every id if there are none
+   */
+  public Set<String> getDeclaredIds(String elementName) {
+    Set<String> ids = new LinkedHashSet<>();
+    Set<String> allIds = new LinkedHashSet<>();
+    for (List<ConfigSymbol> declarations : declarationsById.values()) {
+      for (ConfigSymbol declaration : declarations) {
+        if (declaration.getElementName().equals(elementName)) {
+          ids.add(declaration.getValue());
+        }
+        allIds.add(declaration.getValue());
+      }
+    }
+    return ids.isEmpty() ? allIds : ids;
+  }
+
+  public Set<String> getDropinFeatures() {
+    return dropinFeatures;
+  }
+
+  public boolean isComplete() {
+    return complete;
+  }
+
+  public Range getRange(ConfigSymbol symbol) {
+    if (symbol.getRange() != null) {
+      return symbol.getRange();
+    }
+    return XMLPositionUtility.createRange(symbol.getStart(), symbol.getEnd(), document);
+  }
+}
@@ -0,0 +1,338 @@
+package io.openliberty.lemminx.liberty.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import io.openliberty.lemminx.liberty.models.feature.Feature;
+import io.openliberty.lemminx.liberty.models.feature.JavaSEVersionRequirements;
+import io.openliberty.lemminx.liberty.models.feature.WlpInformation;
+import io.openliberty.lemminx.liberty.util.BKTree;
+import io.openliberty.lemminx.liberty.util.LibertyConstants;
+import io.openliberty.lemminx.liberty.util.LibertyUtils;
+
+/**
+ * The public features supported by one version of liberty, along with the
+ * indexes used to look them up. Indexes are built once when the catalog is
+ * loaded so that language features don't need to scan the feature list.
+ */
+public class FeatureCatalog {
+
+  private static final Logger LOGGER = Logger.getLogger(FeatureCatalog.class.getName());
+
+  // upper bound on edits when suggesting replacements for an unknown feature
+  private static final int MAX_EDIT_DISTANCE = 3;
+
+  // config element -> feature families that provide it, for the bundled server.xsd
+  private static final String ELEMENT_FEATURES_RESOURCE = "schema/xsd/liberty/element-features.properties";
+  private static final Map<String, List<String>> ELEMENT_FEATURE_FAMILIES = loadElementFeatureFamilies();
+
+  private static final int ANY_JAVA_LEVEL = -1;
+
+  private final List<Feature> features;
+
+  // symbolic name -> feature, including features that are not public
+  private final Map<String, Feature> featuresBySymbolicName;
+  // config element -> symbolic names of the features that provide it. Built
+  // in memory like the rest of the catalog, since it is cheap to derive from
+  // the feature list and the bundled element resource.
+  private final Map<String, Set<String>> elementProviders;
+  // last expansion of enabled features, reused while server.xml is edited.
+  // Memory only, so it is recomputed by the first validation after a restart.
+  private volatile EnabledFeatures lastEnabledFeatures;
+
+  // lower case short name -> feature
+  private final Map<String, Feature> featuresByShortName;
+  // feature family (short name without version) -> features, newest first
+  private final Map<String, List<Feature>> featuresByFamily;
+  private final BKTree shortNameTree;
+  private final FeatureSearchIndex searchIndex;
+  // lower case short name -> lowest java level the feature and the features it
+  // requires run on
+  private final Map<String, Integer> minJavaLevelsByShortName;
+
+  /**
+   * @param allFeatures - every feature of the liberty version, public or not
+   */
+  public FeatureCatalog(List<Feature> allFeatures) {
+    List<Feature> features = allFeatures.stream().filter(FeatureCatalog::isPublic).collect(Collectors.toList());
+    this.features = Collections.unmodifiableList(features);
+    this.featuresByShortName = new HashMap<>();
+    this.featuresByFamily = new HashMap<>();
+    this.shortNameTree = new BKTree();
+    for (Feature feature : features) {
+      String shortName = feature.getWlpInformation().getShortName().toLowerCase();
+      featuresByShortName.put(shortName, feature);
+      featuresByFamily.computeIfAbsent(getFamily(shortName), f -> new ArrayList<>()).add(feature);
+      shortNameTree.add(shortName);
+    }
+    featuresByFamily.values().forEach(family -> family.sort(Comparator
+        .comparing((Feature f) -> getVersion(f.getWlpInformation().getShortName()), FeatureCatalog::compareVersions)
+        .reversed()));
+    this.searchIndex = new FeatureSearchIndex(features);
+
+    this.featuresBySymbolicName = new HashMap<>();
+    for (Feature feature : allFeatures) {
+      getSymbolicName(feature).ifPresent(symbolicName -> featuresBySymbolicName.put(symbolicName, feature));
+    }
+    this.elementProviders = new HashMap<>();
+    for (Map.Entry<String, List<String>> element : ELEMENT_FEATURE_FAMILIES.entrySet()) {
+      Set<String> providers = new HashSet<>();
+      for (String family : element.getValue()) {
+        featuresByFamily.getOrDefault(family, Collections.emptyList())
+            .forEach(feature -> getSymbolicName(feature).ifPresent(providers::add));
+      }
+      if (!providers.isEmpty()) {
+        elementProviders.put(element.getKey(), providers);
+      }
+    }
+
+    this.minJavaLevelsByShortName = new HashMap<>();
+    for (Feature feature : features) {
+      int minJavaLevel = getSymbolicName(feature)
+          .map(this::getRequiredMinJavaLevel)
+          .orElseGet(() -> getOwnMinJavaLevel(feature));
+      minJavaLevelsByShortName.put(feature.getWlpInformation().getShortName().toLowerCase(), minJavaLevel);
+    }
+  }
+
+  /**
+   * Combines the minimum java level of a feature with those of the features it
+   * requires, transitively
+   */
+  private int getRequiredMinJavaLevel(String symbolicName) {
+    int min = ANY_JAVA_LEVEL;
+    Set<String> visited = new HashSet<>();
+    Deque<String> pending = new ArrayDeque<>();
+    pending.push(symbolicName);
+    while (!pending.isEmpty()) {
+      Feature feature = featuresBySymbolicName.get(pending.pop());
+      if (feature == null || !visited.add(getSymbolicName(feature).orElse(""))) {
+        continue;
+      }
+      min = Math.max(min, getOwnMinJavaLevel(feature));
+      if (feature.getWlpInformation().getRequireFeature() != null) {
+        feature.getWlpInformation().getRequireFeature().forEach(pending::push);
+      }
+    }
+    return min;
+  }
+
+  private static int getOwnMinJavaLevel(Feature feature) {
+    JavaSEVersionRequirements requirements = feature.getWlpInformation().getJavaSEVersionRequirements();
+    if (requirements == null) {
+      return ANY_JAVA_LEVEL;
+    }
+    return LibertyUtils.getJavaLevel(requirements.getMinVersion());
+  }
+
+  private static boolean isPublic(Feature feature) {
+    WlpInformation wlpInformation = feature.getWlpInformation();
+    return wlpInformation != null && wlpInformation.getShortName() != null
+        && LibertyConstants.PUBLIC_VISIBILITY.equals(wlpInformation.getVisibility());
+  }
+
+  private static Optional<String> getSymbolicName(Feature feature) {
+    List<String> provideFeature = feature.getWlpInformation().getProvideFeature();
+    if (provideFeature == null || provideFeature.isEmpty()) {
+      return Optional.empty();
+    }
+    return Optional.of(provideFeature.get(0));
+  }
+
+  public List<Feature> getFeatures() {
+    return features;
+  }
+
+  /**
+   * Looks up a feature by its short name, ignoring case
+   *
+   * @param shortName - short name of the feature, ie. jaxrs-2.1
+   * @return the feature if it is in the catalog
+   */
+  public Optional<Feature> getFeature(String shortName) {
+    if (shortName == null) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(featuresByShortName.get(shortName.toLowerCase()));
+  }
+
+  /**
+   * Full text search over feature short names, names and descriptions
+   *
+   * @param query - text typed by the user, ie. "rest" or "json"
+   * @return matching features, best match first
+   */
+  public List<Feature> search(String query) {
+    return searchIndex.search(query);
+  }
+
+  /**
+   * Returns the features with the closest short names to an unknown feature
+   * name, including the other versions of the same feature family
+   *
+   * @param featureName - unknown feature name, ie. jaxrs-21 or servlet4.0
+   * @param limit       - maximum number of features to return
+   * @return similar features, closest first
+   */
+  public List<Feature> getSimilarFeatures(String featureName, int limit) {
+    String name = featureName.trim().toLowerCase();
+    int maxDistance = Math.max(1, Math.min(MAX_EDIT_DISTANCE, name.length() / 3));
+
+    // single typos first, then the newest versions of the same family, then
+    // anything else within the edit distance
+    Set<Feature> similar = new LinkedHashSet<>();
+    shortNameTree.search(name, 1).forEach(match -> similar.add(featuresByShortName.get(match)));
+    similar.addAll(featuresByFamily.getOrDefault(getFamily(name), Collections.emptyList()));
+    shortNameTree.search(name, maxDistance).forEach(match -> similar.add(featuresByShortName.get(match)));
+    return similar.stream().limit(limit).collect(Collectors.toList());
+  }
+
+  /**
+   * Returns the lowest java level that a feature and the features it requires
+   * run on
+   *
+   * @param shortName - short name of the feature, ie. jdbc-4.3
+   * @return java level, ie. 11, or -1 if there is no requirement
+   */
+  public int getMinJavaLevel(String shortName) {
+    return minJavaLevelsByShortName.getOrDefault(shortName.toLowerCase(), ANY_JAVA_LEVEL);
+  }
+
+  /**
+   * Checks whether a config element is provided by one of the enabled features
+   * or the features they require. Elements that are not known to need a
+   * particular feature are always enabled.
+   *
+   * @param element          - config element name, ie. dataSource
+   * @param enabledShortNames - short names of the features in featureManager
+   * @return false if liberty would ignore the element
+   */
+  public boolean isConfigElementEnabled(String element, Collection<String> enabledShortNames) {
+    Set<String> providers = elementProviders.get(element);
+    if (providers == null) {
+      return true;
+    }
+    Set<String> enabled = getEnabledFeatures(enabledShortNames);
+    return providers.stream().anyMatch(enabled::contains);
+  }
+
+  /**
+   * Returns the short names of the public features that provide a config
+   * element, newest first within each feature family
+   */
+  public List<String> getProvidingFeatures(String element) {
+    List<String> shortNames = new ArrayList<>();
+    for (String family : ELEMENT_FEATURE_FAMILIES.getOrDefault(element, Collections.emptyList())) {
+      featuresByFamily.getOrDefault(family, Collections.emptyList())
+          .forEach(feature -> shortNames.add(feature.getWlpInformation().getShortName()));
+    }
+    return shortNames;
+  }
+
+  /**
+   * Expands enabled features to the symbolic names of every feature they
+   * require, transitively
+   */
+  private Set<String> getEnabledFeatures(Collection<String> enabledShortNames) {
+    Set<String> shortNames = enabledShortNames.stream().map(String::toLowerCase).collect(Collectors.toSet());
+    EnabledFeatures last = lastEnabledFeatures;
+    if (last != null && last.shortNames.equals(shortNames)) {
+      return last.symbolicNames;
+    }
+
+    Set<String> symbolicNames = new HashSet<>();
+    Deque<String> pending = new ArrayDeque<>();
+    for (String shortName : shortNames) {
+      getFeature(shortName).flatMap(FeatureCatalog::getSymbolicName).ifPresent(pending::push);
+    }
+    while (!pending.isEmpty()) {
+      String symbolicName = pending.pop();
+      Feature feature = featuresBySymbolicName.get(symbolicName);
+      if (symbolicNames.add(symbolicName) && feature != null
+          && feature.getWlpInformation().getRequireFeature() != null) {
+        feature.getWlpInformation().getRequireFeature().forEach(pending::push);
+      }
+    }
+    lastEnabledFeatures = new EnabledFeatures(shortNames, symbolicNames);
+    return symbolicNames;
+  }
+
+  private static Map<String, List<String>> loadElementFeatureFamilies() {
+    Map<String, List<String>> elementFamilies = new HashMap<>();
+    Properties properties = new Properties();
+    try (InputStream is = FeatureCatalog.class.getClassLoader().getResourceAsStream(ELEMENT_FEATURES_RESOURCE)) {
+      if (is != null) {
+        properties.load(is);
+      }
+    } catch (IOException e) {
+      LOGGER.severe("Error: Unable to read " + ELEMENT_FEATURES_RESOURCE);
+    }
+    for (String element : properties.stringPropertyNames()) {
+      List<String> families = Arrays.stream(properties.getProperty(element).split(",")).map(String::trim)
+          .filter(family -> !family.isEmpty()).map(String::toLowerCase).collect(Collectors.toList());
+      elementFamilies.put(element, families);
+    }
+    return elementFamilies;
+  }
+
+  /**
+   * Strips the version from a feature name, ie. jaxrs-2.1 and jaxrs21 are both
+   * in the jaxrs family
+   */
+  private static String getFamily(String shortName) {
+    String version = getVersion(shortName);
+    String family = shortName.substring(0, shortName.length() - version.length());
+    if (family.endsWith("-")) {
+      family = family.substring(0, family.length() - 1);
+    }
+    return family.toLowerCase();
+  }
+
+  private static String getVersion(String shortName) {
+    int start = shortName.length();
+    while (start > 0 && (Character.isDigit(shortName.charAt(start - 1)) || shortName.charAt(start - 1) == '.')) {
+      start--;
+    }
+    return shortName.substring(start);
+  }
+
+  private static int compareVersions(String a, String b) {
+    String[] aParts = a.split("\\.");
+    String[] bParts = b.split("\\.");
+    for (int i = 0; i < Math.max(aParts.length, bParts.length); i++) {
+      int aPart = i < aParts.length && !aParts[i].isEmpty() ? Integer.parseInt(aParts[i]) : 0;
+      int bPart = i < bParts.length && !bParts[i].isEmpty() ? Integer.parseInt(bParts[i]) : 0;
+      if (aPart != bPart) {
+        return Integer.compare(aPart, bPart);
+      }
+    }
+    return 0;
+  }
+
+  private static class EnabledFeatures {
+    private final Set<String> shortNames;
+    private final Set<String> symbolicNames;
+
+    EnabledFeatures(Set<String> shortNames, Set<String> symbolicNames) {
+      this.shortNames = shortNames;
+      this.symbolicNames = symbolicNames;
+    }
+  }
+}
@@ -0,0 +1,176 @@
+package io.openliberty.lemminx.liberty.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import io.openliberty.lemminx.liberty.models.feature.Feature;
+
+/**
+ * Token inverted index over the short name, name and short description of the
+ * features in a catalog. Tokens are split on punctuation, camel case and
+ * letter/digit boundaries so that "rest" finds mpRestClient-1.4 and
+ * "security" finds appSecurity-3.0.
+ */
+class FeatureSearchIndex {
+
+  private static final int SHORT_NAME_WEIGHT = 4;
+  private static final int NAME_WEIGHT = 2;
+  private static final int DESCRIPTION_WEIGHT = 1;
+
+  // bonus for features whose short name starts with the whole query
+  private static final int PREFIX_BONUS = 16;
+
+  private final List<Feature> features;
+  private final String[] shortNames;
+  private final List<Field> fields;
+
+  FeatureSearchIndex(List<Feature> features) {
+    this.features = features;
+    this.shortNames = new String[features.size()];
+
+    Field shortNameField = new Field(SHORT_NAME_WEIGHT);
+    Field nameField = new Field(NAME_WEIGHT);
+    Field descriptionField = new Field(DESCRIPTION_WEIGHT);
+    for (int i = 0; i < features.size(); i++) {
+      Feature feature = features.get(i);
+      String shortName = feature.getWlpInformation().getShortName();
+      shortNames[i] = shortName.toLowerCase();
+
+      // index the whole short name as well so that "mprest" finds mpRestClient
+      shortNameField.add(i, shortNames[i]);
+      shortNameField.addAll(i, tokenize(shortName));
+      nameField.addAll(i, tokenize(feature.getName()));
+      String description = feature.getShortDescription();
+      // unresolved descriptions are a localization key such as %description
+      if (description != null && !description.startsWith("%")) {
+        descriptionField.addAll(i, tokenize(description));
+      }
+    }
+    this.fields = Arrays.asList(shortNameField, nameField, descriptionField);
+  }
+
+  /**
+   * Returns the features matching every token of the query, best match first
+   *
+   * @param query - text typed by the user
+   * @return ranked list of matching features
+   */
+  List<Feature> search(String query) {
+    Set<String> terms = tokenize(query);
+    if (terms.isEmpty()) {
+      return new ArrayList<>();
+    }
+
+    int[] scores = new int[features.size()];
+    BitSet matches = null;
+    for (String term : terms) {
+      int[] termScores = new int[features.size()];
+      for (Field field : fields) {
+        field.match(term, termScores);
+      }
+      BitSet termMatches = new BitSet(features.size());
+      for (int i = 0; i < termScores.length; i++) {
+        if (termScores[i] > 0) {
+          termMatches.set(i);
+          scores[i] += termScores[i];
+        }
+      }
+      if (matches == null) {
+        matches = termMatches;
+      } else {
+        matches.and(termMatches);
+      }
+    }
+
+    String normalizedQuery = query.trim().toLowerCase();
+    List<Integer> ranked = new ArrayList<>();
+    for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+      if (shortNames[i].startsWith(normalizedQuery)) {
+        scores[i] += PREFIX_BONUS;
+      }
+      ranked.add(i);
+    }
+    ranked.sort(Comparator.comparingInt((Integer i) -> -scores[i]).thenComparing(i -> shortNames[i]));
+    return ranked.stream().map(features::get).collect(Collectors.toList());
+  }
+
+  /**
+   * Splits text into lower case tokens on non alphanumeric characters, camel
+   * case humps and letter/digit boundaries.
+   *
+   * @param text - text to tokenize, may be null
+   * @return distinct tokens in the order they appear
+   */
+  static Set<String> tokenize(String text) {
+    Set<String> tokens = new LinkedHashSet<>();
+    if (text == null) {
+      return tokens;
+    }
+    StringBuilder token = new StringBuilder();
+    char previous = 0;
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (!Character.isLetterOrDigit(c)) {
+        addToken(tokens, token);
+      } else {
+        boolean camelHump = Character.isLowerCase(previous) && Character.isUpperCase(c);
+        boolean digitBoundary = token.length() > 0 && Character.isDigit(previous) != Character.isDigit(c);
+        if (camelHump || digitBoundary) {
+          addToken(tokens, token);
+        }
+        token.append(Character.toLowerCase(c));
+      }
+      previous = c;
+    }
+    addToken(tokens, token);
+    return tokens;
+  }
+
+  private static void addToken(Set<String> tokens, StringBuilder token) {
+    if (token.length() > 0) {
+      tokens.add(token.toString());
+      token.setLength(0);
+    }
+  }
+
+  /**
+   * Sorted token -> features postings for one indexed field, sorted so that
+   * prefix queries are a range lookup.
+   */
+  private static class Field {
+    private final int weight;
+    private final TreeMap<String, BitSet> postings = new TreeMap<>();
+
+    Field(int weight) {
+      this.weight = weight;
+    }
+
+    void add(int featureIndex, String token) {
+      postings.computeIfAbsent(token, t -> new BitSet()).set(featureIndex);
+    }
+
+    void addAll(int featureIndex, Set<String> tokens) {
+      tokens.forEach(token -> add(featureIndex, token));
+    }
+
+    // exact token matches score twice as much as prefix matches
+    void match(String term, int[] scores) {
+      for (Map.Entry<String, BitSet> entry : postings.subMap(term, true, term + Character.MAX_VALUE, false)
+          .entrySet()) {
+        int score = entry.getKey().length() == term.length() ? weight * 2 : weight;
+        BitSet matching = entry.getValue();
+        for (int i = matching.nextSetBit(0); i >= 0; i = matching.nextSetBit(i + 1)) {
+          scores[i] = Math.max(scores[i], score);
+        }
+      }
+    }
+  }
+}
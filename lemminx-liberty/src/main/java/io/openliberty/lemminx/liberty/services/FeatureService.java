@@ -3,17 +3,27 @@ package io.openliberty.lemminx.liberty.services;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.net.URL;
+import java.net.URLConnection;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import io.openliberty.lemminx.liberty.models.feature.*;
-import io.openliberty.lemminx.liberty.util.LibertyConstants;
 import com.google.gson.Gson;
 import java.util.logging.Logger;
 import com.google.gson.JsonParseException;
@@ -22,6 +32,16 @@ public class FeatureService {
 
   private static final Logger LOGGER = Logger.getLogger(FeatureService.class.getName());
 
+  private static final String MAVEN_CENTRAL_URL = "https://repo1.maven.org/maven2";
+
+  // path of the feature list within a maven repository
+  private static final String FEATURE_LIST_PATH = "io/openliberty/features/features/%s/features-%s.json";
+
+  // timeouts for fetching a feature list from a remote repository
+  private static final int CONNECT_TIMEOUT = 5000; // in milliseconds
+  private static final int READ_TIMEOUT = 10000; // in milliseconds
+  private static final int FETCH_TIMEOUT = 20; // in seconds
+
   // Singleton so that only 1 Feature Service can be initialized and is
   // shared between all Lemminx Language Feature Participants
 
@@ -34,102 +54,254 @@ public class FeatureService {
     return instance;
   }
 
-  // Cache of liberty version -> list of supported features
-  private Map<String, List<Feature>> featureCache;
-  private List<Feature> defaultFeatureList;
+  // Cache of liberty version -> catalog of supported features
+  private final Map<String, FeatureCatalog> featureCache;
+  private FeatureCatalog defaultFeatureCatalog;
   private long featureUpdateTime;
+  // repository that is tried after the configured ones
+  private volatile String centralUrl = MAVEN_CENTRAL_URL;
+
+  // Features of the configured local liberty installation
+  private InstallationFeatureIndex installationIndex;
+  private FeatureCatalog installationCatalog;
+
+  // Fetches from remote repositories race on this executor
+  private final ExecutorService fetchExecutor;
 
   private FeatureService() {
-    featureCache = new HashMap<>();
+    featureCache = new ConcurrentHashMap<>();
     featureUpdateTime = -1;
+    fetchExecutor = Executors.newCachedThreadPool(runnable -> {
+      Thread thread = new Thread(runnable, "liberty-feature-fetch");
+      thread.setDaemon(true);
+      return thread;
+    });
   }
 
   /**
-   * Fetches information about liberty features from maven repo
+   * Fetches information about liberty features from the configured maven
+   * repositories. Local repository directories are read first, in order. If
+   * none of them has the feature list the remote mirrors are raced and the
+   * first successful response wins. Maven Central is the last resort.
    *
    * @param libertyVersion - version of liberty to fetch features for
    * @return list of features supported by the provided version of liberty
    */
   private List<Feature> fetchFeaturesForVersion(String libertyVersion) throws IOException, JsonParseException {
-    String featureEndpoint = String.format(
-        "https://repo1.maven.org/maven2/io/openliberty/features/features/%s/features-%s.json", libertyVersion,
-        libertyVersion);
-    InputStreamReader reader = new InputStreamReader(new URL(featureEndpoint).openStream());
+    String featureListPath = String.format(FEATURE_LIST_PATH, libertyVersion, libertyVersion);
+
+    List<String> mirrors = new ArrayList<>();
+    List<Path> localRepositories = new ArrayList<>();
+    for (String repository : SettingsService.getInstance().getFeatureRepositories()) {
+      if (repository.startsWith("http://") || repository.startsWith("https://")) {
+        mirrors.add(repository);
+      } else {
+        toLocalRepository(repository).ifPresent(localRepositories::add);
+      }
+    }
+    localRepositories.add(getLocalMavenRepository());
+
+    for (Path repository : localRepositories) {
+      Path featureList = repository.resolve(featureListPath);
+      if (Files.isRegularFile(featureList)) {
+        try (InputStreamReader reader = new InputStreamReader(Files.newInputStream(featureList),
+            StandardCharsets.UTF_8)) {
+          return readFeatures(reader);
+        } catch (IOException | JsonParseException e) {
+          LOGGER.warning("Unable to read features from " + featureList + ": " + e.getMessage());
+        }
+      }
+    }
+
+    if (!mirrors.isEmpty()) {
+      try {
+        return fetchFromFastestRepository(mirrors, featureListPath);
+      } catch (IOException e) {
+        LOGGER.warning(e.getMessage());
+      }
+    }
+    return fetchFeatureList(centralUrl, featureListPath);
+  }
+
+  /**
+   * Replaces maven central as the last repository that feature lists are
+   * fetched from
+   *
+   * @param centralUrl - url of the repository, or null for maven central
+   */
+  void setCentralUrl(String centralUrl) {
+    this.centralUrl = centralUrl == null ? MAVEN_CENTRAL_URL : centralUrl;
+  }
+
+  /**
+   * Races the fetch of a feature list from each of the remote repositories,
+   * returning the first successful response and abandoning the rest
+   */
+  private List<Feature> fetchFromFastestRepository(List<String> repositories, String featureListPath)
+      throws IOException {
+    List<Callable<List<Feature>>> fetches = new ArrayList<>();
+    repositories.forEach(repository -> fetches.add(() -> fetchFeatureList(repository, featureListPath)));
+    try {
+      return fetchExecutor.invokeAny(fetches, FETCH_TIMEOUT, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while fetching " + featureListPath, e);
+    } catch (ExecutionException | TimeoutException e) {
+      throw new IOException("Unable to fetch " + featureListPath + " from " + repositories, e);
+    }
+  }
+
+  private List<Feature> fetchFeatureList(String repository, String featureListPath)
+      throws IOException, JsonParseException {
+    String separator = repository.endsWith("/") ? "" : "/";
+    URLConnection connection = new URL(repository + separator + featureListPath).openConnection();
+    connection.setConnectTimeout(CONNECT_TIMEOUT);
+    connection.setReadTimeout(READ_TIMEOUT);
+    try (InputStreamReader reader = new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8)) {
+      return readFeatures(reader);
+    }
+  }
 
-    // Only need the public features
-    ArrayList<Feature> publicFeatures = readPublicFeatures(reader);
+  /**
+   * Converts a configured repository, either a directory or a file: url, to a
+   * path
+   */
+  private Optional<Path> toLocalRepository(String repository) {
+    try {
+      if (repository.startsWith("file:")) {
+        return Optional.of(Paths.get(new URL(repository).toURI()));
+      }
+      return Optional.of(Paths.get(repository));
+    } catch (Exception e) {
+      LOGGER.warning("Ignoring invalid feature repository " + repository);
+      return Optional.empty();
+    }
+  }
 
-    return publicFeatures;
+  /**
+   * Returns the local maven repository, honouring -Dmaven.repo.local
+   */
+  private Path getLocalMavenRepository() {
+    String localRepository = System.getProperty("maven.repo.local");
+    if (localRepository != null) {
+      try {
+        return Paths.get(localRepository);
+      } catch (InvalidPathException e) {
+        LOGGER.warning("Ignoring invalid maven.repo.local " + localRepository);
+      }
+    }
+    return Paths.get(System.getProperty("user.home"), ".m2", "repository");
   }
 
   /**
-   * Returns the default feature list
+   * Returns the default feature catalog
    *
-   * @return list of features supported by the default version of liberty
+   * @return catalog of features supported by the default version of liberty
    */
-  private List<Feature> getDefaultFeatureList() {
+  private FeatureCatalog getDefaultFeatureCatalog() {
     try {
-      if (defaultFeatureList == null) {
+      if (defaultFeatureCatalog == null) {
         InputStream is = getClass().getClassLoader().getResourceAsStream("features-20.0.0.9.json");
         InputStreamReader reader = new InputStreamReader(is, StandardCharsets.UTF_8);
 
-        // Only need the public features
-        defaultFeatureList = readPublicFeatures(reader);
+        defaultFeatureCatalog = new FeatureCatalog(readFeatures(reader));
       }
-      return defaultFeatureList;
+      return defaultFeatureCatalog;
 
     } catch (JsonParseException e) {
-      // unable to read json in resources file, return empty list
+      // unable to read json in resources file, return empty catalog
       LOGGER.severe("Error: Unable to get default features.");
-      return defaultFeatureList;
+      return new FeatureCatalog(new ArrayList<>());
     }
   }
 
   /**
-   * Returns a list of public features
+   * Returns the list of features, public or not. Only the public features are
+   * offered to the user, the others are kept to resolve the features that
+   * public features require.
    *
    * @param reader - InputStreamReader for json feature list
-   * @return list of public features
+   * @return list of features
    */
-  private ArrayList<Feature> readPublicFeatures(InputStreamReader reader) throws JsonParseException {
+  private List<Feature> readFeatures(InputStreamReader reader) throws JsonParseException {
     Feature[] featureList = new Gson().fromJson(reader, Feature[].class);
-
-    ArrayList<Feature> publicFeatures = new ArrayList<>();
-    Arrays.asList(featureList).stream()
-            .filter(f -> f.getWlpInformation().getVisibility().equals(LibertyConstants.PUBLIC_VISIBILITY))
-            .forEach(publicFeatures::add);
-    defaultFeatureList = publicFeatures;
-    return publicFeatures;
+    return Arrays.asList(featureList);
   }
 
   public List<Feature> getFeatures(String libertyVersion, int requestDelay) {
+    return getFeatureCatalog(libertyVersion, requestDelay).getFeatures();
+  }
+
+  /**
+   * Returns the indexed catalog of features for a version of liberty, falling
+   * back to the default catalog if it cannot be fetched
+   *
+   * @param libertyVersion - version of liberty to get features for
+   * @param requestDelay   - minimum seconds between fetch requests
+   * @return catalog of features supported by the provided version of liberty
+   */
+  public FeatureCatalog getFeatureCatalog(String libertyVersion, int requestDelay) {
+    // a configured liberty installation takes precedence over the version
+    String installationDirectory = SettingsService.getInstance().getInstallationDirectory();
+    if (installationDirectory != null) {
+      FeatureCatalog catalog = getInstallationCatalog(installationDirectory, requestDelay);
+      if (catalog != null) {
+        return catalog;
+      }
+    }
+
     LOGGER.fine("Getting features for version: " + libertyVersion);
     // if the features are already cached in the feature cache
-    if (featureCache.containsKey(libertyVersion)) {
-      return featureCache.get(libertyVersion);
+    FeatureCatalog cached = featureCache.get(libertyVersion);
+    if (cached != null) {
+      return cached;
     }
     // else need to fetch the features from maven central
     try {
       // verify that request delay (seconds) has gone by since last fetch request
       long currentTime = System.currentTimeMillis();
       if (this.featureUpdateTime == -1 || currentTime >= (this.featureUpdateTime + (requestDelay*1000))) {
-        List<Feature> features = fetchFeaturesForVersion(libertyVersion);
-        featureCache.put(libertyVersion, features);
+        FeatureCatalog catalog = new FeatureCatalog(fetchFeaturesForVersion(libertyVersion));
+        featureCache.put(libertyVersion, catalog);
         this.featureUpdateTime = System.currentTimeMillis();
-        return features;
+        return catalog;
       }
     } catch (Exception e) {
       // do nothing, continue on to returning default feature list
     }
-    // return default feature list
-    List<Feature> defaultFeatures = getDefaultFeatureList();
-    return defaultFeatures;
+    // return default feature catalog
+    return getDefaultFeatureCatalog();
+  }
+
+  /**
+   * Returns the catalog of features in a local liberty installation. The
+   * installation is rescanned incrementally once the request delay has passed.
+   *
+   * @param installationDirectory - wlp directory of the installation
+   * @param requestDelay          - minimum seconds between scans
+   * @return catalog of installed public features, or null if the installation
+   *         has none
+   */
+  private synchronized FeatureCatalog getInstallationCatalog(String installationDirectory, int requestDelay) {
+    Path installDirectory;
+    try {
+      installDirectory = Paths.get(installationDirectory);
+    } catch (InvalidPathException e) {
+      LOGGER.warning("Ignoring invalid liberty installation directory " + installationDirectory);
+      return null;
+    }
+    if (installationIndex == null || !installationIndex.getInstallDirectory().equals(installDirectory)) {
+      installationIndex = new InstallationFeatureIndex(installDirectory);
+      installationCatalog = null;
+    }
+    if (installationIndex.refresh(requestDelay) || installationCatalog == null) {
+      installationCatalog = new FeatureCatalog(installationIndex.getFeatures());
+    }
+    return installationCatalog.getFeatures().isEmpty() ? null : installationCatalog;
   }
 
   public Optional<Feature> getFeature(String featureName, String libertyVersion, int requestDelay) {
-    List<Feature> features = getFeatures(libertyVersion, requestDelay);
-    return features.stream().filter(f -> f.getWlpInformation().getShortName().equalsIgnoreCase(featureName))
-        .findFirst();
+    return getFeatureCatalog(libertyVersion, requestDelay).getFeature(featureName);
   }
 
   public boolean featureExists(String featureName, String libertyVersion, int requestDelay) {
@@ -0,0 +1,182 @@
+package io.openliberty.lemminx.liberty.services;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import io.openliberty.lemminx.liberty.util.LibertyConstants;
+
+public class FileProbeService {
+
+  // how long the result of a probe is used before the path is probed again
+  private static final long PROBE_TTL = 10000; // in milliseconds
+
+  public enum FileStatus {
+    FILE, DIRECTORY, MISSING
+  }
+
+  // Singleton so that only 1 File Probe Service can be initialized and is
+  // shared between all Lemminx Language Feature Participants
+
+  private static FileProbeService instance = new FileProbeService();
+
+  public static FileProbeService getInstance() {
+    return instance;
+  }
+
+  // Cache of path -> result of its last probe
+  private final Map<Path, Probe> probes = new ConcurrentHashMap<>();
+  // paths whose probe has been submitted but has not completed
+  private final Set<Path> pending = ConcurrentHashMap.newKeySet();
+
+  // Probes run off the validation thread, one batch at a time
+  private final ExecutorService probeExecutor;
+
+  private FileProbeService() {
+    probeExecutor = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "liberty-file-probe");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Returns the status of each path that is known. Cached results are returned
+   * as they are and refreshed in the background once they are older than the
+   * TTL. Paths that were never probed are probed in one background batch, which
+   * is waited on for at most maxWait milliseconds. Paths that are still unknown
+   * after that are left out of the result.
+   *
+   * @param paths   - paths to look up
+   * @param maxWait - milliseconds to wait for paths that were never probed
+   * @return status of the paths that are known
+   */
+  public Map<Path, FileStatus> probe(Collection<Path> paths, long maxWait) {
+    Map<Path, FileStatus> statuses = new HashMap<>();
+    List<Path> batch = new ArrayList<>();
+    boolean waitForBatch = false;
+    long currentTime = System.currentTimeMillis();
+    for (Path path : paths) {
+      Probe probe = probes.get(path);
+      if (probe != null) {
+        statuses.put(path, probe.status);
+      }
+      boolean stale = probe == null || currentTime >= probe.time + PROBE_TTL;
+      if (stale && pending.add(path)) {
+        batch.add(path);
+        waitForBatch |= probe == null;
+      }
+    }
+    if (batch.isEmpty()) {
+      return statuses;
+    }
+
+    Future<?> probed = probeExecutor.submit(() -> probeAll(batch));
+    if (waitForBatch && maxWait > 0) {
+      try {
+        probed.get(maxWait, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (ExecutionException | TimeoutException e) {
+        // the results are picked up by the next lookup
+      }
+      for (Path path : batch) {
+        Probe probe = probes.get(path);
+        if (probe != null) {
+          statuses.put(path, probe.status);
+        }
+      }
+    }
+    return statuses;
+  }
+
+  /**
+   * Resolves a location from server.xml to a path. Relative locations are
+   * resolved against the base directory, and ${server.config.dir} and, when a
+   * liberty installation is configured, the wlp and shared directories are
+   * expanded. ${server.output.dir} is left unresolved since it depends on
+   * WLP_OUTPUT_DIR and, in dev mode, is not next to server.xml.
+   *
+   * @param configDirectory - directory of server.xml
+   * @param baseDirectory   - directory to resolve relative locations against
+   * @param location        - location as written in the config
+   * @return the path, or null if the location has other variables or is remote
+   */
+  public Path resolve(Path configDirectory, Path baseDirectory, String location) {
+    if (configDirectory == null || baseDirectory == null || location == null) {
+      return null;
+    }
+    String resolved = location.trim();
+    Map<String, String> variables = new HashMap<>();
+    variables.put(LibertyConstants.SERVER_CONFIG_DIR_VARIABLE, configDirectory.toString());
+    String installationDirectory = SettingsService.getInstance().getInstallationDirectory();
+    if (installationDirectory != null) {
+      Path userDirectory = Paths.get(installationDirectory, "usr");
+      variables.put(LibertyConstants.WLP_INSTALL_DIR_VARIABLE, installationDirectory);
+      variables.put(LibertyConstants.WLP_USER_DIR_VARIABLE, userDirectory.toString());
+      variables.put(LibertyConstants.SHARED_CONFIG_DIR_VARIABLE, userDirectory.resolve("shared/config").toString());
+      variables.put(LibertyConstants.SHARED_APP_DIR_VARIABLE, userDirectory.resolve("shared/apps").toString());
+      variables.put(LibertyConstants.SHARED_RESOURCE_DIR_VARIABLE,
+          userDirectory.resolve("shared/resources").toString());
+    }
+    for (Map.Entry<String, String> variable : variables.entrySet()) {
+      if (resolved.startsWith(variable.getKey())) {
+        resolved = variable.getValue() + resolved.substring(variable.getKey().length());
+        break;
+      }
+    }
+    if (resolved.isEmpty() || resolved.contains("${") || resolved.contains("://")) {
+      return null;
+    }
+    try {
+      return baseDirectory.resolve(resolved).normalize();
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  private void probeAll(List<Path> batch) {
+    for (Path path : batch) {
+      try {
+        FileStatus status;
+        try {
+          BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+          status = attributes.isDirectory() ? FileStatus.DIRECTORY : FileStatus.FILE;
+        } catch (NoSuchFileException e) {
+          status = FileStatus.MISSING;
+        }
+        probes.put(path, new Probe(status, System.currentTimeMillis()));
+      } catch (IOException | SecurityException e) {
+        // unknown, ie. permission denied, so it is not reported as missing
+      } finally {
+        pending.remove(path);
+      }
+    }
+  }
+
+  private static class Probe {
+    private final FileStatus status;
+    private final long time;
+
+    Probe(FileStatus status, long time) {
+      this.status = status;
+      this.time = time;
+    }
+  }
+}
@@ -0,0 +1,349 @@
+package io.openliberty.lemminx.liberty.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.Attributes;
+import java.util.jar.Manifest;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import io.openliberty.lemminx.liberty.models.feature.*;
+import io.openliberty.lemminx.liberty.util.LibertyConstants;
+import io.openliberty.lemminx.liberty.util.LibertyUtils;
+
+/**
+ * Index of the features in a local liberty installation, built from the
+ * feature manifests in lib/features, the user extension and any product
+ * extensions. The index is persisted in the liberty cache directory and
+ * refreshed incrementally, so only manifests whose modification time or size
+ * changed since the last scan are parsed again.
+ */
+class InstallationFeatureIndex {
+
+  private static final Logger LOGGER = Logger.getLogger(InstallationFeatureIndex.class.getName());
+
+  private static final String FEATURE_TYPE = "osgi.subsystem.feature";
+  private static final Pattern JAVA_VERSION_FILTER = Pattern.compile("\\(version>=([0-9.]+)\\)");
+
+  private final Path installDirectory;
+  private final Path indexFile;
+
+  // manifest path -> indexed feature, or an entry without a feature for a
+  // manifest that is not a feature so it is not parsed again until it changes
+  private Map<String, IndexEntry> entries;
+  private long scanTime = -1;
+
+  InstallationFeatureIndex(Path installDirectory) {
+    this.installDirectory = installDirectory;
+    String indexName = UUID.nameUUIDFromBytes(installDirectory.toString().getBytes(StandardCharsets.UTF_8))
+        .toString();
+    this.indexFile = LibertyUtils.getLibertyCacheDirectory().resolve("installations").resolve(indexName + ".json");
+    this.entries = loadIndex();
+  }
+
+  Path getInstallDirectory() {
+    return installDirectory;
+  }
+
+  /**
+   * Returns every indexed feature, public or not
+   */
+  synchronized List<Feature> getFeatures() {
+    return entries.values().stream().map(entry -> entry.feature).filter(Objects::nonNull)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Rescans the installation once the request delay has passed since the last
+   * scan. The file system is not touched before then.
+   *
+   * @param requestDelay - minimum seconds between scans
+   * @return true if the indexed features changed
+   */
+  synchronized boolean refresh(int requestDelay) {
+    long currentTime = System.currentTimeMillis();
+    if (scanTime != -1 && currentTime < scanTime + (requestDelay * 1000)) {
+      return false;
+    }
+    scanTime = currentTime;
+
+    Map<Path, String> featureDirectories = getFeatureDirectories();
+    List<ManifestFile> manifests = new ArrayList<>();
+    for (Map.Entry<Path, String> directory : featureDirectories.entrySet()) {
+      try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory.getKey(), "*.mf")) {
+        stream.forEach(manifest -> manifests.add(new ManifestFile(manifest, directory.getValue())));
+      } catch (IOException e) {
+        LOGGER.warning("Unable to list features in " + directory.getKey() + ": " + e.getMessage());
+      }
+    }
+
+    // only parse the manifests that are new or changed since the last scan
+    Map<String, IndexEntry> scanned = new ConcurrentHashMap<>();
+    AtomicInteger parsed = new AtomicInteger();
+    manifests.parallelStream().forEach(manifest -> {
+      String key = manifest.path.toString();
+      long lastModified = manifest.path.toFile().lastModified();
+      long size = manifest.path.toFile().length();
+      IndexEntry cached = entries.get(key);
+      if (cached != null && cached.lastModified == lastModified && cached.size == size) {
+        scanned.put(key, cached);
+        return;
+      }
+      Feature feature = null;
+      try {
+        feature = parseManifest(manifest);
+      } catch (IOException e) {
+        LOGGER.warning("Unable to read feature manifest " + key + ": " + e.getMessage());
+      }
+      scanned.put(key, new IndexEntry(lastModified, size, feature));
+      parsed.incrementAndGet();
+    });
+
+    boolean changed = parsed.get() > 0 || !scanned.keySet().equals(entries.keySet());
+    if (changed) {
+      entries = scanned;
+      saveIndex();
+      LOGGER.fine("Indexed " + parsed.get() + " changed feature manifests in " + installDirectory);
+    }
+    return changed;
+  }
+
+  /**
+   * Returns the feature directories of the installation mapped to the prefix
+   * their features are referenced with in server.xml
+   */
+  private Map<Path, String> getFeatureDirectories() {
+    Map<Path, String> directories = new LinkedHashMap<>();
+    addFeatureDirectory(directories, installDirectory.resolve("lib").resolve("features"), "");
+    addFeatureDirectory(directories, installDirectory.resolve("usr").resolve("extension").resolve("lib")
+        .resolve("features"), "usr:");
+
+    // product extensions are registered by etc/extensions/<name>.properties
+    Path extensions = installDirectory.resolve("etc").resolve("extensions");
+    if (Files.isDirectory(extensions)) {
+      try (DirectoryStream<Path> stream = Files.newDirectoryStream(extensions, "*.properties")) {
+        for (Path extension : stream) {
+          Properties properties = readProperties(extension);
+          String productInstall = properties.getProperty("com.ibm.websphere.productInstall");
+          if (productInstall != null) {
+            String name = extension.getFileName().toString().replaceFirst("\\.properties$", "");
+            Path productDirectory = installDirectory.getParent() == null ? Paths.get(productInstall)
+                : installDirectory.getParent().resolve(productInstall);
+            addFeatureDirectory(directories, productDirectory.resolve("lib").resolve("features"), name + ":");
+          }
+        }
+      } catch (IOException e) {
+        LOGGER.warning("Unable to read product extensions in " + extensions + ": " + e.getMessage());
+      }
+    }
+    return directories;
+  }
+
+  private void addFeatureDirectory(Map<Path, String> directories, Path directory, String prefix) {
+    if (Files.isDirectory(directory)) {
+      directories.put(directory, prefix);
+    }
+  }
+
+  /**
+   * Builds a feature from a subsystem manifest, resolving localized names and
+   * descriptions from the l10n directory next to it
+   *
+   * @return the feature, or null if the manifest has no Subsystem-SymbolicName
+   */
+  private Feature parseManifest(ManifestFile manifestFile) throws IOException {
+    Manifest manifest;
+    try (InputStream is = Files.newInputStream(manifestFile.path)) {
+      manifest = new Manifest(is);
+    }
+    Attributes attributes = manifest.getMainAttributes();
+    String symbolicNameHeader = attributes.getValue("Subsystem-SymbolicName");
+    if (symbolicNameHeader == null) {
+      return null;
+    }
+    List<String> symbolicNameParts = splitHeader(symbolicNameHeader, ';');
+    String symbolicName = symbolicNameParts.get(0);
+    boolean isPublic = symbolicNameParts.stream()
+        .anyMatch(part -> part.replace(" ", "").equalsIgnoreCase("visibility:=public"));
+
+    Properties localization = new Properties();
+    String localizationHeader = attributes.getValue("Subsystem-Localization");
+    if (localizationHeader != null) {
+      String bundleName = Paths.get(localizationHeader).getFileName().toString();
+      Path l10n = manifestFile.path.getParent().resolve("l10n").resolve(bundleName + ".properties");
+      if (Files.isRegularFile(l10n)) {
+        localization = readProperties(l10n);
+      }
+    }
+
+    WlpInformation wlpInformation = new WlpInformation();
+    String shortName = attributes.getValue("IBM-ShortName");
+    wlpInformation.setShortName(shortName == null ? null : manifestFile.prefix + shortName.trim());
+    wlpInformation.setVisibility(isPublic ? LibertyConstants.PUBLIC_VISIBILITY : "PRIVATE");
+    wlpInformation.setProvideFeature(new ArrayList<>(Arrays.asList(symbolicName)));
+    wlpInformation.setRequireFeature(getRequiredFeatures(attributes.getValue("Subsystem-Content")));
+    wlpInformation.setJavaSEVersionRequirements(getJavaSEVersionRequirements(attributes));
+
+    Feature feature = new Feature();
+    feature.setName(localize(attributes.getValue("Subsystem-Name"), localization, symbolicName));
+    feature.setShortDescription(localize(attributes.getValue("Subsystem-Description"), localization, null));
+    feature.setVersion(attributes.getValue("Subsystem-Version"));
+    feature.setWlpInformation(wlpInformation);
+    return feature;
+  }
+
+  private ArrayList<String> getRequiredFeatures(String subsystemContent) {
+    ArrayList<String> requiredFeatures = new ArrayList<>();
+    if (subsystemContent == null) {
+      return requiredFeatures;
+    }
+    for (String content : splitHeader(subsystemContent, ',')) {
+      List<String> parts = splitHeader(content, ';');
+      boolean isFeature = parts.stream().skip(1)
+          .anyMatch(part -> part.replace(" ", "").equals("type=\"" + FEATURE_TYPE + "\""));
+      if (isFeature) {
+        requiredFeatures.add(parts.get(0));
+      }
+    }
+    return requiredFeatures;
+  }
+
+  /**
+   * Reads the minimum java version from the osgi.ee requirement. Manifests do
+   * not list the java versions a release was tested on, so unlike the feature
+   * lists from maven the versionDisplayString is left unset.
+   */
+  private JavaSEVersionRequirements getJavaSEVersionRequirements(Attributes attributes) {
+    String requireCapability = attributes.getValue("Require-Capability");
+    if (requireCapability == null) {
+      return null;
+    }
+    Matcher matcher = JAVA_VERSION_FILTER.matcher(requireCapability);
+    if (!matcher.find()) {
+      return null;
+    }
+    JavaSEVersionRequirements requirements = new JavaSEVersionRequirements();
+    requirements.setMinVersion(matcher.group(1));
+    requirements.setRawRequirements(new ArrayList<>(Arrays.asList(requireCapability)));
+    return requirements;
+  }
+
+  private String localize(String value, Properties localization, String defaultValue) {
+    if (value == null) {
+      return defaultValue;
+    }
+    if (value.startsWith("%")) {
+      return localization.getProperty(value.substring(1), value);
+    }
+    return value;
+  }
+
+  /**
+   * Splits a manifest header on a delimiter, ignoring delimiters inside quotes
+   * such as version="[1.0,2.0)"
+   */
+  private static List<String> splitHeader(String header, char delimiter) {
+    List<String> parts = new ArrayList<>();
+    StringBuilder part = new StringBuilder();
+    boolean quoted = false;
+    for (char c : header.toCharArray()) {
+      if (c == '"') {
+        quoted = !quoted;
+      }
+      if (c == delimiter && !quoted) {
+        parts.add(part.toString().trim());
+        part.setLength(0);
+      } else {
+        part.append(c);
+      }
+    }
+    parts.add(part.toString().trim());
+    return parts;
+  }
+
+  private static Properties readProperties(Path file) throws IOException {
+    Properties properties = new Properties();
+    try (InputStream is = Files.newInputStream(file)) {
+      properties.load(is);
+    }
+    return properties;
+  }
+
+  private Map<String, IndexEntry> loadIndex() {
+    if (Files.isRegularFile(indexFile)) {
+      try (Reader reader = Files.newBufferedReader(indexFile, StandardCharsets.UTF_8)) {
+        PersistedIndex index = new Gson().fromJson(reader, PersistedIndex.class);
+        if (index != null && index.entries != null && installDirectory.toString().equals(index.installDirectory)) {
+          return index.entries;
+        }
+      } catch (IOException | JsonParseException e) {
+        LOGGER.warning("Ignoring unreadable feature index " + indexFile + ": " + e.getMessage());
+      }
+    }
+    return new HashMap<>();
+  }
+
+  private void saveIndex() {
+    PersistedIndex index = new PersistedIndex();
+    index.installDirectory = installDirectory.toString();
+    index.entries = entries;
+    try {
+      Files.createDirectories(indexFile.getParent());
+      try (Writer writer = Files.newBufferedWriter(indexFile, StandardCharsets.UTF_8)) {
+        new Gson().toJson(index, writer);
+      }
+    } catch (IOException e) {
+      LOGGER.warning("Unable to save feature index " + indexFile + ": " + e.getMessage());
+    }
+  }
+
+  private static class ManifestFile {
+    private final Path path;
+    private final String prefix;
+
+    ManifestFile(Path path, String prefix) {
+      this.path = path;
+      this.prefix = prefix;
+    }
+  }
+
+  private static class IndexEntry {
+    private long lastModified;
+    private long size;
+    private Feature feature;
+
+    IndexEntry(long lastModified, long size, Feature feature) {
+      this.lastModified = lastModified;
+      this.size = size;
+      this.feature = feature;
+    }
+  }
+
+  private static class PersistedIndex {
+    private String installDirectory;
+    private Map<String, IndexEntry> entries;
+  }
+}
@@ -0,0 +1,411 @@
+package io.openliberty.lemminx.liberty.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import io.openliberty.lemminx.liberty.util.LibertyUtils;
+
+public class ProjectService {
+
+  private static final Logger LOGGER = Logger.getLogger(ProjectService.class.getName());
+
+  private static final String POM_XML = "pom.xml";
+  private static final String BUILD_GRADLE = "build.gradle";
+  private static final String GRADLE_PROPERTIES = "gradle.properties";
+
+  private static final String LIBERTY_MAVEN_PLUGIN = "liberty-maven-plugin";
+  private static final String MAVEN_COMPILER_PLUGIN = "maven-compiler-plugin";
+  private static final String LIBERTY_GROUP_ID = "io.openliberty";
+
+  // minimum milliseconds between checks of a build file for changes
+  private static final long RECHECK_INTERVAL = 5000;
+
+  // libertyRuntime 'io.openliberty:openliberty-runtime:20.0.0.10'
+  private static final Pattern GRADLE_RUNTIME_COORDINATES = Pattern
+      .compile("libertyRuntime\\s*\\(?\\s*['\"]io\\.openliberty[^:'\"]*:[^:'\"]+:([^'\"]+)['\"]");
+  // libertyRuntime group: 'io.openliberty', name: 'openliberty-runtime', version: '20.0.0.10'
+  private static final Pattern GRADLE_RUNTIME_MAP = Pattern
+      .compile("\\blibertyRuntime\\b[^\\n]*?\\bversion\\s*:\\s*['\"]([^'\"]+)['\"]");
+  // liberty { runtime = ['group': 'io.openliberty', 'name': 'openliberty-runtime', 'version': '20.0.0.10'] }
+  // only inside the liberty block, a top level runtime is the old gradle
+  // dependency configuration
+  private static final Pattern GRADLE_LIBERTY_RUNTIME = Pattern.compile(
+      "\\bliberty\\s*\\{(?:[^{}]|\\{[^{}]*\\})*?\\bruntime\\s*=\\s*\\["
+          + "[^\\]]*?['\"]?version['\"]?\\s*:\\s*['\"]([^'\"]+)['\"]");
+  // java { toolchain { languageVersion = JavaLanguageVersion.of(11) } }
+  private static final Pattern GRADLE_JAVA_TOOLCHAIN = Pattern.compile("JavaLanguageVersion\\.of\\(\\s*['\"]?(\\d+)");
+  // targetCompatibility = 1.8, sourceCompatibility = JavaVersion.VERSION_11
+  private static final String GRADLE_JAVA_COMPATIBILITY = "%s\\s*=\\s*(?:JavaVersion\\.VERSION_|['\"])?([\\d._]+)";
+  private static final Pattern PROPERTY_REFERENCE = Pattern.compile("\\$\\{?([\\w.-]+)\\}?");
+
+  // Singleton so that only 1 Project Service can be initialized and is
+  // shared between all Lemminx Language Feature Participants
+
+  private static ProjectService instance = new ProjectService();
+
+  public static ProjectService getInstance() {
+    return instance;
+  }
+
+  // Cache of build file -> liberty version and java level declared in it
+  private final Map<Path, BuildFile> buildFiles = new HashMap<>();
+  // Cache of document directory -> versions from the nearest build files that
+  // declare them
+  private final Map<Path, ProjectInfo> projects = new HashMap<>();
+
+  private ProjectService() {
+  }
+
+  /**
+   * Returns the liberty runtime version pinned by the liberty-maven-plugin or
+   * liberty-gradle-plugin configuration of the project that contains a document.
+   * Build files are only parsed when they change, and checked for changes at
+   * most every few seconds.
+   *
+   * @param documentURI - uri of the server.xml
+   * @return version of the runtime artifact, or empty if the project does not
+   *         declare one
+   */
+  public synchronized Optional<String> getLibertyVersion(String documentURI) {
+    ProjectInfo project = getProject(documentURI);
+    return project == null ? Optional.empty() : Optional.ofNullable(project.libertyVersion);
+  }
+
+  /**
+   * Returns the java level that the project that contains a document is built
+   * for, from the release, target or source level of the maven compiler or
+   * the toolchain, targetCompatibility or sourceCompatibility of gradle
+   *
+   * @param documentURI - uri of the server.xml
+   * @return java level, ie. 8 or 11, or -1 if the project does not declare one
+   */
+  public synchronized int getJavaLevel(String documentURI) {
+    ProjectInfo project = getProject(documentURI);
+    return project == null ? -1 : project.javaLevel;
+  }
+
+  private ProjectInfo getProject(String documentURI) {
+    Path directory = toDirectory(documentURI);
+    if (directory == null) {
+      return null;
+    }
+    long currentTime = System.currentTimeMillis();
+    ProjectInfo project = projects.get(directory);
+    if (project == null || currentTime >= project.checkedTime + RECHECK_INTERVAL) {
+      project = findProject(directory, currentTime);
+      projects.put(directory, project);
+    }
+    return project;
+  }
+
+  /**
+   * Drops the cached results for a build file when the client saves it. Only
+   * documents opened in the xml language server are saved through it, so a
+   * build.gradle, or a pom.xml edited in another editor, is picked up by the
+   * modification time check instead.
+   *
+   * @param uri - uri of the changed file
+   */
+  public synchronized void invalidate(String uri) {
+    Path path = LibertyUtils.toPath(uri);
+    if (path != null && isBuildFile(path)) {
+      buildFiles.remove(path);
+      projects.clear();
+    }
+  }
+
+  /**
+   * Walks up from the directory to the nearest build files that declare a
+   * liberty version and a java level, so that modules can inherit them from a
+   * parent project
+   */
+  private ProjectInfo findProject(Path directory, long currentTime) {
+    String libertyVersion = null;
+    int javaLevel = -1;
+    for (Path dir = directory; dir != null && (libertyVersion == null || javaLevel == -1); dir = dir.getParent()) {
+      for (String name : new String[] { POM_XML, BUILD_GRADLE }) {
+        BuildFile buildFile = getBuildFile(dir.resolve(name), currentTime);
+        if (libertyVersion == null) {
+          libertyVersion = buildFile.libertyVersion;
+        }
+        if (javaLevel == -1) {
+          javaLevel = buildFile.javaLevel;
+        }
+      }
+    }
+    return new ProjectInfo(libertyVersion, javaLevel, currentTime);
+  }
+
+  private BuildFile getBuildFile(Path path, long currentTime) {
+    BuildFile buildFile = buildFiles.get(path);
+    if (buildFile != null && currentTime < buildFile.checkedTime + RECHECK_INTERVAL) {
+      return buildFile;
+    }
+    long lastModified = -1;
+    try {
+      if (Files.isRegularFile(path)) {
+        lastModified = Files.getLastModifiedTime(path).toMillis();
+      }
+    } catch (IOException e) {
+      // treated as a missing build file
+    }
+    if (buildFile == null || buildFile.lastModified != lastModified) {
+      buildFile = lastModified == -1 ? new BuildFile(null, -1, lastModified) : readBuildFile(path, lastModified);
+      buildFiles.put(path, buildFile);
+    }
+    buildFile.checkedTime = currentTime;
+    return buildFile;
+  }
+
+  private BuildFile readBuildFile(Path buildFile, long lastModified) {
+    try {
+      if (POM_XML.equals(buildFile.getFileName().toString())) {
+        return readMavenBuildFile(buildFile, lastModified);
+      }
+      return readGradleBuildFile(buildFile, lastModified);
+    } catch (Exception e) {
+      LOGGER.warning("Unable to read the project versions from " + buildFile + ": " + e.getMessage());
+      return new BuildFile(null, -1, lastModified);
+    }
+  }
+
+  /**
+   * Reads the runtimeArtifact (or older assemblyArtifact) version of the
+   * liberty-maven-plugin, falling back to an io.openliberty runtime dependency,
+   * and the java level of the maven-compiler-plugin
+   */
+  private BuildFile readMavenBuildFile(Path pom, long lastModified) throws Exception {
+    DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+    factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+    DocumentBuilder builder = factory.newDocumentBuilder();
+    Document document;
+    try (InputStream is = Files.newInputStream(pom)) {
+      document = builder.parse(is);
+    }
+    Element project = document.getDocumentElement();
+
+    Properties properties = new Properties();
+    Element propertiesElement = getChild(project, "properties");
+    if (propertiesElement != null) {
+      NodeList nodes = propertiesElement.getChildNodes();
+      for (int i = 0; i < nodes.getLength(); i++) {
+        if (nodes.item(i).getNodeType() == Node.ELEMENT_NODE) {
+          properties.setProperty(nodes.item(i).getNodeName(), nodes.item(i).getTextContent().trim());
+        }
+      }
+    }
+
+    String version = null;
+    NodeList plugins = document.getElementsByTagName("plugin");
+    for (int i = 0; i < plugins.getLength() && version == null; i++) {
+      Element plugin = (Element) plugins.item(i);
+      if (LIBERTY_MAVEN_PLUGIN.equals(getChildText(plugin, "artifactId"))) {
+        Element configuration = getChild(plugin, "configuration");
+        if (configuration != null) {
+          version = getChildText(getChild(configuration, "runtimeArtifact"), "version");
+          if (version == null) {
+            version = getChildText(getChild(configuration, "assemblyArtifact"), "version");
+          }
+        }
+      }
+    }
+    NodeList dependencies = document.getElementsByTagName("dependency");
+    for (int i = 0; i < dependencies.getLength() && version == null; i++) {
+      Element dependency = (Element) dependencies.item(i);
+      String artifactId = getChildText(dependency, "artifactId");
+      if (LIBERTY_GROUP_ID.equals(getChildText(dependency, "groupId")) && artifactId != null
+          && artifactId.startsWith("openliberty-")) {
+        version = getChildText(dependency, "version");
+      }
+    }
+
+    // the compiler plugin configuration overrides the maven.compiler properties
+    String javaVersion = null;
+    for (int i = 0; i < plugins.getLength() && javaVersion == null; i++) {
+      Element plugin = (Element) plugins.item(i);
+      if (MAVEN_COMPILER_PLUGIN.equals(getChildText(plugin, "artifactId"))) {
+        javaVersion = getFirstChildText(getChild(plugin, "configuration"), "release", "target", "source");
+      }
+    }
+    if (javaVersion == null) {
+      javaVersion = getFirstProperty(properties, "maven.compiler.release", "maven.compiler.target",
+          "maven.compiler.source");
+    }
+    return new BuildFile(resolveProperties(version, properties),
+        LibertyUtils.getJavaLevel(resolveProperties(javaVersion, properties)), lastModified);
+  }
+
+  /**
+   * Reads the libertyRuntime dependency or liberty.runtime version, and the
+   * java level, from a build.gradle
+   */
+  private BuildFile readGradleBuildFile(Path buildGradle, long lastModified) throws IOException {
+    String script = new String(Files.readAllBytes(buildGradle), StandardCharsets.UTF_8);
+    int javaLevel = -1;
+    Matcher toolchain = GRADLE_JAVA_TOOLCHAIN.matcher(script);
+    if (toolchain.find()) {
+      javaLevel = LibertyUtils.getJavaLevel(toolchain.group(1));
+    }
+    for (String compatibility : new String[] { "targetCompatibility", "sourceCompatibility" }) {
+      Matcher matcher = Pattern.compile(String.format(GRADLE_JAVA_COMPATIBILITY, compatibility)).matcher(script);
+      if (javaLevel == -1 && matcher.find()) {
+        javaLevel = LibertyUtils.getJavaLevel(matcher.group(1));
+      }
+    }
+    return new BuildFile(readGradleLibertyVersion(buildGradle, script), javaLevel, lastModified);
+  }
+
+  /**
+   * Reads the libertyRuntime dependency or liberty.runtime version from a
+   * build.gradle, resolving properties from gradle.properties or ext
+   */
+  private String readGradleLibertyVersion(Path buildGradle, String script) throws IOException {
+    String version = null;
+    for (Pattern pattern : new Pattern[] { GRADLE_RUNTIME_COORDINATES, GRADLE_RUNTIME_MAP, GRADLE_LIBERTY_RUNTIME }) {
+      Matcher matcher = pattern.matcher(script);
+      if (matcher.find()) {
+        version = matcher.group(1);
+        break;
+      }
+    }
+    if (version == null) {
+      return null;
+    }
+    if (!version.contains("$")) {
+      return version;
+    }
+
+    Properties properties = new Properties();
+    Path gradleProperties = buildGradle.resolveSibling(GRADLE_PROPERTIES);
+    if (Files.isRegularFile(gradleProperties)) {
+      try (InputStream is = Files.newInputStream(gradleProperties)) {
+        properties.load(is);
+      }
+    }
+    Matcher propertyMatcher = PROPERTY_REFERENCE.matcher(version);
+    while (propertyMatcher.find()) {
+      String name = propertyMatcher.group(1);
+      // ext.name = '...', def name = '...' or name = '...' in an ext block
+      Matcher definition = Pattern
+          .compile("(?:ext\\.|def\\s+)?\\b" + Pattern.quote(name) + "\\s*=\\s*['\"]([^'\"$]+)['\"]").matcher(script);
+      if (definition.find()) {
+        properties.setProperty(name, definition.group(1));
+      }
+    }
+    return resolveProperties(version, properties);
+  }
+
+  /**
+   * Replaces ${name} references with their values, or returns null if any of
+   * them cannot be resolved
+   */
+  private String resolveProperties(String value, Properties properties) {
+    if (value == null) {
+      return null;
+    }
+    StringBuffer resolved = new StringBuffer();
+    Matcher matcher = PROPERTY_REFERENCE.matcher(value);
+    while (matcher.find()) {
+      String property = properties.getProperty(matcher.group(1));
+      if (property == null || property.contains("$")) {
+        return null;
+      }
+      matcher.appendReplacement(resolved, Matcher.quoteReplacement(property));
+    }
+    matcher.appendTail(resolved);
+    String version = resolved.toString().trim();
+    return version.isEmpty() ? null : version;
+  }
+
+  private static Element getChild(Element parent, String name) {
+    if (parent == null) {
+      return null;
+    }
+    NodeList nodes = parent.getChildNodes();
+    for (int i = 0; i < nodes.getLength(); i++) {
+      if (nodes.item(i).getNodeType() == Node.ELEMENT_NODE && name.equals(nodes.item(i).getNodeName())) {
+        return (Element) nodes.item(i);
+      }
+    }
+    return null;
+  }
+
+  private static String getChildText(Element parent, String name) {
+    Element child = getChild(parent, name);
+    return child == null ? null : child.getTextContent().trim();
+  }
+
+  private static String getFirstChildText(Element parent, String... names) {
+    for (String name : names) {
+      String text = getChildText(parent, name);
+      if (text != null) {
+        return text;
+      }
+    }
+    return null;
+  }
+
+  private static String getFirstProperty(Properties properties, String... names) {
+    for (String name : names) {
+      String value = properties.getProperty(name);
+      if (value != null) {
+        return value;
+      }
+    }
+    return null;
+  }
+
+  private static boolean isBuildFile(Path path) {
+    Path fileName = path.getFileName();
+    return fileName != null
+        && (POM_XML.equals(fileName.toString()) || BUILD_GRADLE.equals(fileName.toString()));
+  }
+
+  private static Path toDirectory(String documentURI) {
+    Path path = LibertyUtils.toPath(documentURI);
+    return path == null ? null : path.getParent();
+  }
+
+  private static class BuildFile {
+    private final String libertyVersion;
+    private final int javaLevel;
+    private final long lastModified;
+    private long checkedTime;
+
+    BuildFile(String libertyVersion, int javaLevel, long lastModified) {
+      this.libertyVersion = libertyVersion;
+      this.javaLevel = javaLevel;
+      this.lastModified = lastModified;
+    }
+  }
+
+  private static class ProjectInfo {
+    private final String libertyVersion;
+    private final int javaLevel;
+    private final long checkedTime;
+
+    ProjectInfo(String libertyVersion, int javaLevel, long checkedTime) {
+      this.libertyVersion = libertyVersion;
+      this.javaLevel = javaLevel;
+      this.checkedTime = checkedTime;
+    }
+  }
+}
@@ -0,0 +1,241 @@
+package io.openliberty.lemminx.liberty.services;
+
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Index of the reference attributes in the bundled server.xsd, keyed by
+ * element path and attribute name. The schema is streamed once on first use
+ * instead of being kept as a DOM. Documentation is left to the content model
+ * of lemminx.
+ */
+public class SchemaReferenceService {
+
+  private static final Logger LOGGER = Logger.getLogger(SchemaReferenceService.class.getName());
+
+  private static final String XSD_CLASSPATH_LOCATION = "schema/xsd/liberty/server.xsd";
+  private static final String XSD_NAMESPACE = "http://www.w3.org/2001/XMLSchema";
+
+  // Singleton so that only 1 Schema Reference Service can be initialized and
+  // is shared between all Lemminx Language Feature Participants
+
+  private static SchemaReferenceService instance = new SchemaReferenceService();
+
+  public static SchemaReferenceService getInstance() {
+    return instance;
+  }
+
+  // global element name -> element, ie. server
+  private Map<String, ElementType> rootElements;
+  // named complex type -> its attributes and child elements
+  private Map<String, ComplexType> types;
+  // ids that reference attributes default to, ie. defaultSSLConfig
+  private Set<String> defaultReferenceIds;
+
+  private SchemaReferenceService() {
+  }
+
+  /**
+   * Returns the config element that a reference attribute points to
+   *
+   * @param elementPath - element names from the root, ie. [server, jdbcDriver]
+   * @param attribute   - reference attribute name, ie. libraryRef
+   * @return name of the referenced element, ie. library
+   */
+  public Optional<String> getReferencedElement(List<String> elementPath, String attribute) {
+    ReferenceAttribute referenceAttribute = findAttribute(elementPath, attribute);
+    return referenceAttribute == null ? Optional.empty() : Optional.ofNullable(referenceAttribute.reference);
+  }
+
+  /**
+   * Returns whether an id is the default value of a reference attribute, which
+   * liberty provides a configuration for without it being in server.xml
+   */
+  public boolean isDefaultReferenceId(String id) {
+    loadIfNeeded();
+    return defaultReferenceIds.contains(id);
+  }
+
+  private ElementType findElement(List<String> elementPath) {
+    if (elementPath.isEmpty()) {
+      return null;
+    }
+    loadIfNeeded();
+    ElementType element = rootElements.get(elementPath.get(0));
+    for (int i = 1; i < elementPath.size() && element != null; i++) {
+      ElementType child = null;
+      for (ComplexType type = getType(element); type != null && child == null; type = types.get(type.base)) {
+        child = type.children.get(elementPath.get(i));
+      }
+      element = child;
+    }
+    return element;
+  }
+
+  private ReferenceAttribute findAttribute(List<String> elementPath, String attribute) {
+    ElementType element = findElement(elementPath);
+    if (element == null) {
+      return null;
+    }
+    for (ComplexType type = getType(element); type != null; type = types.get(type.base)) {
+      ReferenceAttribute referenceAttribute = type.attributes.get(attribute);
+      if (referenceAttribute != null) {
+        return referenceAttribute;
+      }
+    }
+    return null;
+  }
+
+  private ComplexType getType(ElementType element) {
+    return element.anonymousType != null ? element.anonymousType : types.get(element.type);
+  }
+
+  private synchronized void loadIfNeeded() {
+    if (types != null) {
+      return;
+    }
+    SchemaHandler handler = new SchemaHandler();
+    try (InputStream is = getClass().getClassLoader().getResourceAsStream(XSD_CLASSPATH_LOCATION)) {
+      SAXParserFactory factory = SAXParserFactory.newInstance();
+      factory.setNamespaceAware(true);
+      SAXParser parser = factory.newSAXParser();
+      parser.parse(is, handler);
+    } catch (Exception e) {
+      LOGGER.severe("Error: Unable to index references in server.xsd: " + e.getMessage());
+    }
+    rootElements = handler.rootElements;
+    defaultReferenceIds = handler.defaultReferenceIds;
+    types = handler.types;
+  }
+
+  private static class ComplexType {
+    private String base;
+    private final Map<String, ReferenceAttribute> attributes = new HashMap<>();
+    private final Map<String, ElementType> children = new HashMap<>();
+  }
+
+  private static class ElementType {
+    private String type;
+    private ComplexType anonymousType;
+  }
+
+  private static class ReferenceAttribute {
+    private String defaultValue;
+    private String reference;
+  }
+
+  /**
+   * A schema element being parsed, and what it declares
+   */
+  private static class Frame {
+    private final String name;
+    private Object target;
+
+    Frame(String name) {
+      this.name = name;
+    }
+  }
+
+  private static class SchemaHandler extends DefaultHandler {
+    private final Map<String, ElementType> rootElements = new HashMap<>();
+    private final Map<String, ComplexType> types = new HashMap<>();
+    private final Set<String> defaultReferenceIds = new HashSet<>();
+
+    private final Deque<Frame> frames = new ArrayDeque<>();
+    private StringBuilder reference;
+
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes attributes) {
+      Frame parent = frames.peek();
+      Frame frame = new Frame(localName);
+      boolean topLevel = parent != null && "schema".equals(parent.name);
+      String name = attributes.getValue("name");
+
+      if (!XSD_NAMESPACE.equals(uri)) {
+        // ext:reference names the element that a pid attribute points to
+        if ("reference".equals(localName)) {
+          reference = new StringBuilder();
+        }
+      } else if ("complexType".equals(localName)) {
+        ComplexType type = new ComplexType();
+        if (topLevel && name != null) {
+          types.put(name, type);
+        } else if (parent != null && parent.target instanceof ElementType) {
+          ((ElementType) parent.target).anonymousType = type;
+        }
+        frame.target = type;
+      } else if ("extension".equals(localName)) {
+        ComplexType type = nearest(ComplexType.class);
+        if (type != null && type.base == null) {
+          type.base = attributes.getValue("base");
+        }
+      } else if ("element".equals(localName) && name != null) {
+        ElementType element = new ElementType();
+        element.type = attributes.getValue("type");
+        if (topLevel) {
+          rootElements.put(name, element);
+        } else {
+          ComplexType type = nearest(ComplexType.class);
+          if (type != null) {
+            type.children.put(name, element);
+          }
+        }
+        frame.target = element;
+      } else if ("attribute".equals(localName) && name != null) {
+        ComplexType type = nearest(ComplexType.class);
+        if (type != null) {
+          ReferenceAttribute attribute = new ReferenceAttribute();
+          attribute.defaultValue = attributes.getValue("default");
+          type.attributes.put(name, attribute);
+          frame.target = attribute;
+        }
+      }
+      frames.push(frame);
+    }
+
+    @Override
+    public void characters(char[] ch, int start, int length) {
+      if (reference != null) {
+        reference.append(ch, start, length);
+      }
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName) {
+      frames.pop();
+      if (reference != null && "reference".equals(localName)) {
+        ReferenceAttribute attribute = nearest(ReferenceAttribute.class);
+        if (attribute != null) {
+          attribute.reference = reference.toString().trim();
+          if (attribute.defaultValue != null) {
+            defaultReferenceIds.add(attribute.defaultValue);
+          }
+        }
+        reference = null;
+      }
+    }
+
+    private <T> T nearest(Class<T> targetClass) {
+      for (Frame frame : frames) {
+        if (targetClass.isInstance(frame.target)) {
+          return targetClass.cast(frame.target);
+        }
+      }
+      return null;
+    }
+  }
+}
@@ -1,7 +1,12 @@
 package io.openliberty.lemminx.liberty.services;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.lemminx.dom.DOMDocument;
 import org.eclipse.lemminx.utils.JSONUtility;
 import io.openliberty.lemminx.liberty.models.settings.*;
+import io.openliberty.lemminx.liberty.util.LibertyUtils;
 
 public class SettingsService {
 
@@ -35,15 +40,37 @@ public class SettingsService {
     }
   }
 
-  public String getLibertyVersion() {
-    if (settings != null) {
-      String version = settings.getVersion();
-      if (version != null) {
-        return version;
+  /**
+   * Returns the liberty version to use for a document. The version setting
+   * takes precedence over the runtime version declared by the build file of
+   * the project that contains the document.
+   *
+   * @param document - server.xml document
+   */
+  public String getLibertyVersion(DOMDocument document) {
+    if (settings != null && settings.getVersion() != null) {
+      return settings.getVersion();
+    }
+
+    return ProjectService.getInstance().getLibertyVersion(document.getDocumentURI())
+        .orElse(DEFAULT_SERVER_VERSION);
+  }
+
+  /**
+   * Returns the java level that the project of a document runs on, from the
+   * javaVersion setting or else the project build file
+   *
+   * @return java level, ie. 8 or 11, or -1 if it is unknown
+   */
+  public int getJavaLevel(DOMDocument document) {
+    if (settings != null && settings.getJavaVersion() != null) {
+      int javaLevel = LibertyUtils.getJavaLevel(settings.getJavaVersion());
+      if (javaLevel != -1) {
+        return javaLevel;
       }
     }
 
-    return DEFAULT_SERVER_VERSION;
+    return ProjectService.getInstance().getJavaLevel(document.getDocumentURI());
   }
 
   public int getRequestDelay() {
@@ -57,4 +84,30 @@ public class SettingsService {
     return DEFAULT_REQUEST_DELAY;
   }
 
+  /**
+   * Returns the configured liberty installation directory, or null if the
+   * features should come from a maven repository
+   */
+  public String getInstallationDirectory() {
+    if (settings != null) {
+      String installationDirectory = settings.getInstallationDirectory();
+      if (installationDirectory != null && !installationDirectory.trim().isEmpty()) {
+        return installationDirectory.trim();
+      }
+    }
+
+    return null;
+  }
+
+  public List<String> getFeatureRepositories() {
+    if (settings != null) {
+      List<String> featureRepositories = settings.getFeatureRepositories();
+      if (featureRepositories != null) {
+        return featureRepositories;
+      }
+    }
+
+    return new ArrayList<>();
+  }
+
 }
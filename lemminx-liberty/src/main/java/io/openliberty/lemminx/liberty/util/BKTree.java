@@ -0,0 +1,112 @@
+package io.openliberty.lemminx.liberty.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Burkhard-Keller tree of words keyed by Levenshtein distance. The triangle
+ * inequality lets a lookup skip every subtree whose edge distance is outside
+ * [d - maxDistance, d + maxDistance], so only a small part of the tree is
+ * compared against the query.
+ */
+public class BKTree {
+
+    private Node root;
+
+    public void add(String word) {
+        if (root == null) {
+            root = new Node(word);
+            return;
+        }
+        Node node = root;
+        while (true) {
+            int distance = distance(node.word, word);
+            if (distance == 0) {
+                return;
+            }
+            Node child = node.children.get(distance);
+            if (child == null) {
+                node.children.put(distance, new Node(word));
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Returns the words within maxDistance edits of the query, closest first
+     *
+     * @param query       - word to look up
+     * @param maxDistance - maximum number of edits
+     * @return matching words ordered by distance then alphabetically
+     */
+    public List<String> search(String query, int maxDistance) {
+        List<Match> matches = new ArrayList<>();
+        if (root != null) {
+            Deque<Node> pending = new ArrayDeque<>();
+            pending.push(root);
+            while (!pending.isEmpty()) {
+                Node node = pending.pop();
+                int distance = distance(node.word, query);
+                if (distance <= maxDistance) {
+                    matches.add(new Match(node.word, distance));
+                }
+                for (Map.Entry<Integer, Node> child : node.children.entrySet()) {
+                    if (Math.abs(child.getKey() - distance) <= maxDistance) {
+                        pending.push(child.getValue());
+                    }
+                }
+            }
+        }
+        matches.sort(Comparator.comparingInt((Match m) -> m.distance).thenComparing(m -> m.word));
+        List<String> words = new ArrayList<>(matches.size());
+        matches.forEach(m -> words.add(m.word));
+        return words;
+    }
+
+    /**
+     * Levenshtein edit distance between two strings
+     */
+    public static int distance(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    private static class Node {
+        private final String word;
+        private final Map<Integer, Node> children = new HashMap<>();
+
+        Node(String word) {
+            this.word = word;
+        }
+    }
+
+    private static class Match {
+        private final String word;
+        private final int distance;
+
+        Match(String word, int distance) {
+            this.word = word;
+            this.distance = distance;
+        }
+    }
+}
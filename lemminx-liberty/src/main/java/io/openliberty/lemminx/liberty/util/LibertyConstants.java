@@ -10,6 +10,41 @@ public final class LibertyConstants {
 
     public static final String FEATURE_MANAGER_ELEMENT = "featureManager";
     public static final String FEATURE_ELEMENT = "feature";
+    public static final String INCLUDE_ELEMENT = "include";
+
+    public static final String ID_ATTRIBUTE = "id";
+    public static final String LOCATION_ATTRIBUTE = "location";
+    // suffix of attributes that reference the id of another element
+    public static final String REF_SUFFIX = "Ref";
+
+    public static final String OPTIONAL_ATTRIBUTE = "optional";
+
+    // elements with attributes that point to a file or directory
+    public static final String APPLICATION_ELEMENT = "application";
+    public static final String WEB_APPLICATION_ELEMENT = "webApplication";
+    public static final String ENTERPRISE_APPLICATION_ELEMENT = "enterpriseApplication";
+    public static final String FILESET_ELEMENT = "fileset";
+    public static final String DIR_ATTRIBUTE = "dir";
+    public static final String FILE_ELEMENT = "file";
+    public static final String NAME_ATTRIBUTE = "name";
+
+    public static final String APPS_DIR = "apps";
+    public static final String CONFIG_DROPINS_DEFAULTS_DIR = "configDropins/defaults";
+    public static final String CONFIG_DROPINS_OVERRIDES_DIR = "configDropins/overrides";
+
+    public static final String SERVER_CONFIG_DIR_VARIABLE = "${server.config.dir}";
+    public static final String WLP_INSTALL_DIR_VARIABLE = "${wlp.install.dir}";
+    public static final String WLP_USER_DIR_VARIABLE = "${wlp.user.dir}";
+    public static final String SHARED_CONFIG_DIR_VARIABLE = "${shared.config.dir}";
+    public static final String SHARED_APP_DIR_VARIABLE = "${shared.app.dir}";
+    public static final String SHARED_RESOURCE_DIR_VARIABLE = "${shared.resource.dir}";
 
     public static final String PUBLIC_VISIBILITY = "PUBLIC";
+
+    // diagnostic codes
+    public static final String FEATURE_NOT_EXIST_CODE = "feature_not_exist";
+    public static final String FEATURE_NOT_ENABLED_CODE = "feature_not_enabled";
+    public static final String REFERENCE_NOT_FOUND_CODE = "reference_not_found";
+    public static final String LOCATION_NOT_FOUND_CODE = "location_not_found";
+    public static final String JAVA_VERSION_NOT_SUPPORTED_CODE = "java_version_not_supported";
 }
@@ -1,5 +1,9 @@
 package io.openliberty.lemminx.liberty.util;
 
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
 import org.eclipse.lemminx.dom.DOMDocument;
 
 public class LibertyUtils {
@@ -13,4 +17,54 @@ public class LibertyUtils {
     public static boolean isServerXMLFile(DOMDocument file) {
         return file.getDocumentURI().endsWith("/" + LibertyConstants.SERVER_XML);
     }
+
+    /**
+     * Returns the directory that indexes built by the liberty extension are
+     * persisted in, next to the lemminx resource cache
+     */
+    public static Path getLibertyCacheDirectory() {
+        return Paths.get(System.getProperty("user.home"), ".lemminx", "liberty");
+    }
+
+    /**
+     * Converts a file: document uri to a path. Other uris, ie. untitled: or
+     * relative uris, are not resolved against the working directory of the
+     * server since they are not files on this machine.
+     *
+     * @return the path, or null if the uri is not a file: uri
+     */
+    public static Path toPath(String uri) {
+        if (uri == null || !uri.startsWith("file:")) {
+            return null;
+        }
+        try {
+            return Paths.get(new URI(uri)).normalize();
+        } catch (Exception e) {
+            // ie. a malformed uri or a file on another host
+            return null;
+        }
+    }
+
+    /**
+     * Returns the major java level of a version, ie. 8 for "1.8", "1.8.0" or
+     * "1_8" and 11 for "11" or "11.0.0"
+     *
+     * @param version - java version as written in a build file or feature
+     * @return major java level, or -1 if the version can not be read
+     */
+    public static int getJavaLevel(String version) {
+        if (version == null) {
+            return -1;
+        }
+        String[] parts = version.trim().split("[._]");
+        try {
+            int level = Integer.parseInt(parts[0]);
+            if (level == 1 && parts.length > 1) {
+                level = Integer.parseInt(parts[1]);
+            }
+            return level > 0 ? level : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
 }
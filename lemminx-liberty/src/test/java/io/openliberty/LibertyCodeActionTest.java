@@ -0,0 +1,107 @@
+package io.openliberty;
+
+import org.eclipse.lemminx.commons.BadLocationException;
+import org.eclipse.lemminx.dom.DOMDocument;
+import org.eclipse.lemminx.dom.DOMParser;
+import org.eclipse.lemminx.services.XMLLanguageService;
+import org.eclipse.lemminx.settings.SharedSettings;
+import org.eclipse.lsp4j.CodeAction;
+import org.eclipse.lsp4j.CodeActionContext;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextEdit;
+import org.junit.jupiter.api.Test;
+
+import static org.eclipse.lemminx.XMLAssert.r;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import io.openliberty.lemminx.liberty.util.LibertyConstants;
+
+public class LibertyCodeActionTest {
+
+        static String newLine = System.getProperty("line.separator");
+        static String serverXMLURI = "test/server.xml";
+
+        // Tests that a feature with a missing version separator is replaced with
+        // the closest feature, followed by the other versions of its family
+        @Test
+        public void testReplaceFeatureCodeAction() throws BadLocationException {
+                String serverXML = String.join(newLine, //
+                                "<server description=\"Sample Liberty server\">", //
+                                "       <featureManager>", //
+                                "               <feature>jaxrs-21</feature>", //
+                                "       </featureManager>", //
+                                "</server>" //
+                );
+
+                List<CodeAction> codeActions = getCodeActions(serverXML, notExist(r(2, 24, 2, 32)));
+
+                assertEquals(Arrays.asList("Replace with jaxrs-2.1", "Replace with jaxrs-2.0"), getTitles(codeActions));
+                TextEdit edit = getTextEdit(codeActions.get(0));
+                assertEquals(r(2, 24, 2, 32), edit.getRange());
+                assertEquals("jaxrs-2.1", edit.getNewText());
+        }
+
+        // Tests that a feature with a missing dash is replaced with the newest
+        // feature of its family
+        @Test
+        public void testReplaceFeatureFamilyCodeAction() throws BadLocationException {
+                String serverXML = String.join(newLine, //
+                                "<server description=\"Sample Liberty server\">", //
+                                "       <featureManager>", //
+                                "               <feature>servlet4.0</feature>", //
+                                "       </featureManager>", //
+                                "</server>" //
+                );
+
+                List<CodeAction> codeActions = getCodeActions(serverXML, notExist(r(2, 24, 2, 34)));
+
+                assertEquals(Arrays.asList("Replace with servlet-4.0", "Replace with servlet-3.1"),
+                                getTitles(codeActions));
+                TextEdit edit = getTextEdit(codeActions.get(0));
+                assertEquals(r(2, 24, 2, 34), edit.getRange());
+                assertEquals("servlet-4.0", edit.getNewText());
+        }
+
+        // Tests that no replacement is offered when no feature name is close
+        @Test
+        public void testNoReplaceFeatureCodeAction() throws BadLocationException {
+                String serverXML = String.join(newLine, //
+                                "<server description=\"Sample Liberty server\">", //
+                                "       <featureManager>", //
+                                "               <feature>xyzzy-9.9</feature>", //
+                                "       </featureManager>", //
+                                "</server>" //
+                );
+
+                List<CodeAction> codeActions = getCodeActions(serverXML, notExist(r(2, 24, 2, 33)));
+
+                assertEquals(0, codeActions.size());
+        }
+
+        private Diagnostic notExist(Range range) {
+                Diagnostic diagnostic = new Diagnostic(range, "ERROR: The feature does not exist.");
+                diagnostic.setCode(LibertyConstants.FEATURE_NOT_EXIST_CODE);
+                return diagnostic;
+        }
+
+        private List<CodeAction> getCodeActions(String serverXML, Diagnostic diagnostic) {
+                DOMDocument document = DOMParser.getInstance().parse(serverXML, serverXMLURI, null);
+                CodeActionContext context = new CodeActionContext(Arrays.asList(diagnostic));
+                return new XMLLanguageService().doCodeActions(document, context, diagnostic.getRange(),
+                                new SharedSettings());
+        }
+
+        private List<String> getTitles(List<CodeAction> codeActions) {
+                return codeActions.stream().map(CodeAction::getTitle).collect(Collectors.toList());
+        }
+
+        private TextEdit getTextEdit(CodeAction codeAction) {
+                return codeAction.getEdit().getDocumentChanges().get(0).getLeft().getEdits().get(0);
+        }
+
+}
@@ -82,4 +82,60 @@ public class LibertyCompletionTest {
                                 microProfileCompletion);
         }
 
+        // Tests that feature completion matches words inside feature names and
+        // descriptions, not just the start of the feature name
+        @Test
+        public void testFeatureSearchCompletionItem() throws BadLocationException {
+                String serverXML = String.join(newLine, //
+                                "<server description=\"Sample Liberty server\">", //
+                                "       <featureManager>", //
+                                "               <feature>rest|</feature>", //
+                                "       </featureManager>", //
+                                "</server>" //
+                );
+
+                CompletionItem restClientCompletion = c("mpRestClient-1.4", "mpRestClient-1.4");
+                CompletionItem jaxrsCompletion = c("jaxrs-2.1", "jaxrs-2.1");
+
+                XMLAssert.testCompletionFor(serverXML, null, serverXMLURI, null, restClientCompletion,
+                                jaxrsCompletion);
+        }
+
+        // Tests that a reference attribute is completed with the ids declared by
+        // the kind of element it references
+        @Test
+        public void testReferenceCompletionItem() throws BadLocationException {
+                String serverXML = String.join(newLine, //
+                                "<server description=\"Sample Liberty server\">", //
+                                "       <keyStore id=\"myKeyStore\"/>", //
+                                "       <keyStore id=\"otherKeyStore\"/>", //
+                                "       <library id=\"myLibrary\"/>", //
+                                "       <ssl id=\"mySSL\" keyStoreRef=\"|\"/>", //
+                                "</server>" //
+                );
+
+                CompletionItem myKeyStoreCompletion = c("myKeyStore", "\"myKeyStore\"");
+                CompletionItem otherKeyStoreCompletion = c("otherKeyStore", "\"otherKeyStore\"");
+
+                XMLAssert.testCompletionFor(serverXML, null, serverXMLURI, 2, myKeyStoreCompletion,
+                                otherKeyStoreCompletion);
+        }
+
+        // Tests that every declared id is offered when no element of the
+        // referenced kind declares one
+        @Test
+        public void testReferenceCompletionAllIds() throws BadLocationException {
+                String serverXML = String.join(newLine, //
+                                "<server description=\"Sample Liberty server\">", //
+                                "       <library id=\"myLibrary\"/>", //
+                                "       <ssl id=\"mySSL\" keyStoreRef=\"|\"/>", //
+                                "</server>" //
+                );
+
+                CompletionItem libraryCompletion = c("myLibrary", "\"myLibrary\"");
+                CompletionItem sslCompletion = c("mySSL", "\"mySSL\"");
+
+                XMLAssert.testCompletionFor(serverXML, null, serverXMLURI, 2, libraryCompletion, sslCompletion);
+        }
+
 }
@@ -0,0 +1,113 @@
+package io.openliberty;
+
+import org.eclipse.lemminx.XMLAssert;
+import org.eclipse.lemminx.commons.BadLocationException;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.Range;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.eclipse.lemminx.XMLAssert.ll;
+import static org.eclipse.lemminx.XMLAssert.r;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import io.openliberty.lemminx.liberty.util.LibertyConstants;
+
+public class LibertyDefinitionTest {
+
+        static String newLine = System.getProperty("line.separator");
+        static String serverXMLURI = "test/server.xml";
+
+        @TempDir
+        Path tempDir;
+
+        // Tests going from a reference to the element that declares the id
+        @Test
+        public void testReferenceDefinition() throws BadLocationException {
+                String serverXML = String.join(newLine, //
+                                "<server description=\"Sample Liberty server\">", //
+                                "       <keyStore id=\"myKeyStore\"/>", //
+                                "       <ssl id=\"mySSL\" keyStoreRef=\"myKey|Store\"/>", //
+                                "</server>" //
+                );
+
+                XMLAssert.testDefinitionFor(serverXML, serverXMLURI,
+                                ll(serverXMLURI, r(2, 36, 2, 46), r(1, 21, 1, 31)));
+        }
+
+        // Tests going from a reference to an id declared in an included file
+        @Test
+        public void testIncludedReferenceDefinition() throws BadLocationException, IOException {
+                Path included = tempDir.resolve("keystore.xml");
+                Files.write(included, String.join(newLine, //
+                                "<server>", //
+                                "    <keyStore id=\"includedKeyStore\"/>", //
+                                "</server>" //
+                ).getBytes(StandardCharsets.UTF_8));
+                String serverXML = String.join(newLine, //
+                                "<server description=\"Sample Liberty server\">", //
+                                "       <include location=\"keystore.xml\"/>", //
+                                "       <ssl id=\"mySSL\" keyStoreRef=\"included|KeyStore\"/>", //
+                                "</server>" //
+                );
+                String uri = tempDir.resolve("server.xml").toUri().toString();
+
+                XMLAssert.testDefinitionFor(serverXML, uri,
+                                ll(included.toUri().toString(), r(2, 36, 2, 52), r(1, 18, 1, 34)));
+                XMLAssert.testDiagnosticsFor(serverXML.replace("|", ""), null, null, uri);
+        }
+
+        // Tests that the ranges of definitions and diagnostics are still correct
+        // after an edit above the elements whose symbols are reused
+        @Test
+        public void testDefinitionAfterEdit() throws BadLocationException {
+                String uri = tempDir.resolve("server.xml").toUri().toString();
+                String serverXML = String.join(newLine, //
+                                "<server description=\"Sample Liberty server\">", //
+                                "       <keyStore id=\"myKeyStore\"/>", //
+                                "       <ssl id=\"mySSL\" keyStoreRef=\"myKey|Store\"/>", //
+                                "       <ssl id=\"otherSSL\" keyStoreRef=\"missingKeyStore\"/>", //
+                                "</server>" //
+                );
+                XMLAssert.testDefinitionFor(serverXML, uri, ll(uri, r(2, 36, 2, 46), r(1, 21, 1, 31)));
+                XMLAssert.testDiagnosticsFor(serverXML.replace("|", ""), null, null, uri,
+                                notFound("missingKeyStore", r(3, 39, 3, 54)));
+
+                // a new element above the others moves their symbols a line down
+                serverXML = String.join(newLine, //
+                                "<server description=\"Sample Liberty server\">", //
+                                "       <library id=\"myLibrary\"/>", //
+                                "       <keyStore id=\"myKeyStore\"/>", //
+                                "       <ssl id=\"mySSL\" keyStoreRef=\"myKey|Store\"/>", //
+                                "       <ssl id=\"otherSSL\" keyStoreRef=\"missingKeyStore\"/>", //
+                                "</server>" //
+                );
+                XMLAssert.testDefinitionFor(serverXML, uri, ll(uri, r(3, 36, 3, 46), r(2, 21, 2, 31)));
+                XMLAssert.testDiagnosticsFor(serverXML.replace("|", ""), null, null, uri,
+                                notFound("missingKeyStore", r(4, 39, 4, 54)));
+
+                // renaming the id leaves its references unresolved
+                serverXML = String.join(newLine, //
+                                "<server description=\"Sample Liberty server\">", //
+                                "       <library id=\"myLibrary\"/>", //
+                                "       <keyStore id=\"renamedKeyStore\"/>", //
+                                "       <ssl id=\"mySSL\" keyStoreRef=\"myKeyStore\"/>", //
+                                "       <ssl id=\"otherSSL\" keyStoreRef=\"missingKeyStore\"/>", //
+                                "</server>" //
+                );
+                XMLAssert.testDiagnosticsFor(serverXML, null, null, uri, notFound("myKeyStore", r(3, 36, 3, 46)),
+                                notFound("missingKeyStore", r(4, 39, 4, 54)));
+        }
+
+        private Diagnostic notFound(String id, Range range) {
+                Diagnostic diagnostic = new Diagnostic(range,
+                                "WARNING: The " + id + " keyStore referenced by keyStoreRef does not exist.");
+                diagnostic.setCode(LibertyConstants.REFERENCE_NOT_FOUND_CODE);
+                return diagnostic;
+        }
+
+}
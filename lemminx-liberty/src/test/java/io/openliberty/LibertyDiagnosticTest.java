@@ -0,0 +1,285 @@
+package io.openliberty;
+
+import com.google.gson.JsonObject;
+
+import org.eclipse.lemminx.XMLAssert;
+import org.eclipse.lsp4j.Diagnostic;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.eclipse.lemminx.XMLAssert.r;
+
+import io.openliberty.lemminx.liberty.services.FileProbeService;
+import io.openliberty.lemminx.liberty.services.SettingsService;
+import io.openliberty.lemminx.liberty.util.LibertyConstants;
+
+public class LibertyDiagnosticTest {
+
+        static String newLine = System.getProperty("line.separator");
+        static String serverXMLURI = "test/server.xml";
+
+        @TempDir
+        Path tempDir;
+
+        @AfterEach
+        public void resetSettings() {
+                SettingsService.getInstance().updateLibertySettings(new JsonObject());
+        }
+
+        // Tests that a feature which does not exist is reported with a code that
+        // quick fixes can act on
+        @Test
+        public void testFeatureDoesNotExistDiagnostic() {
+                String serverXML = String.join(newLine, //
+                                "<server description=\"Sample Liberty server\">", //
+                                "       <featureManager>", //
+                                "               <feature>jaxrs-21</feature>", //
+                                "       </featureManager>", //
+                                "</server>" //
+                );
+
+                Diagnostic notExist = new Diagnostic(r(2, 24, 2, 32), "ERROR: The jaxrs-21 feature does not exist.");
+                notExist.setCode(LibertyConstants.FEATURE_NOT_EXIST_CODE);
+
+                XMLAssert.testDiagnosticsFor(serverXML, null, null, serverXMLURI, notExist);
+        }
+
+        // Tests that a config element is reported when no enabled feature, directly
+        // or through the features it requires, provides it
+        @Test
+        public void testFeatureNotEnabledDiagnostic() {
+                String serverXML = String.join(newLine, //
+                                "<server description=\"Sample Liberty server\">", //
+                                "       <featureManager>", //
+                                "               <feature>jaxrs-2.1</feature>", //
+                                "       </featureManager>", //
+                                "       <dataSource jndiName=\"jdbc/db\"/>", //
+                                "</server>" //
+                );
+
+                Diagnostic notEnabled = new Diagnostic(r(4, 8, 4, 18),
+                                "WARNING: The dataSource element is ignored because none of the features that provide it are enabled: "
+                                                + "jdbc-4.3, jdbc-4.2, jdbc-4.1, jdbc-4.0.");
+                notEnabled.setCode(LibertyConstants.FEATURE_NOT_ENABLED_CODE);
+
+                XMLAssert.testDiagnosticsFor(serverXML, null, null, serverXMLURI, notEnabled);
+        }
+
+        // Tests that a config element provided by a feature enabled in
+        // configDropins is not reported
+        @Test
+        public void testFeatureEnabledInConfigDropins() throws IOException {
+                Path defaults = Files.createDirectories(tempDir.resolve("configDropins/defaults"));
+                Files.write(defaults.resolve("features.xml"), String.join(newLine, //
+                                "<server>", //
+                                "    <featureManager>", //
+                                "        <feature>jdbc-4.2</feature>", //
+                                "    </featureManager>", //
+                                "</server>" //
+                ).getBytes(StandardCharsets.UTF_8));
+                String serverXML = String.join(newLine, //
+                                "<server description=\"Sample Liberty server\">", //
+                                "       <featureManager>", //
+                                "               <feature>jaxrs-2.1</feature>", //
+                                "       </featureManager>", //
+                                "       <dataSource jndiName=\"jdbc/db\"/>", //
+                                "</server>" //
+                );
+
+                String uri = tempDir.resolve("server.xml").toUri().toString();
+                XMLAssert.testDiagnosticsFor(serverXML, null, null, uri);
+        }
+
+        // Tests that a config element provided by a feature that an enabled feature
+        // requires is not reported
+        @Test
+        public void testFeatureEnabledThroughRequiredFeature() {
+                String serverXML = String.join(newLine, //
+                                "<server description=\"Sample Liberty server\">", //
+                                "       <featureManager>", //
+                                "               <feature>jpa-2.2</feature>", //
+                                "       </featureManager>", //
+                                "       <dataSource jndiName=\"jdbc/db\"/>", //
+                                "</server>" //
+                );
+
+                XMLAssert.testDiagnosticsFor(serverXML, null, null, serverXMLURI);
+        }
+
+        // Tests that a reference to an id that no element declares is reported
+        @Test
+        public void testReferenceNotFoundDiagnostic() {
+                String serverXML = String.join(newLine, //
+                                "<server description=\"Sample Liberty server\">", //
+                                "       <keyStore id=\"myKeyStore\"/>", //
+                                "       <ssl id=\"mySSL\" keyStoreRef=\"myKeyStore\"/>", //
+                                "       <ssl id=\"otherSSL\" keyStoreRef=\"missingKeyStore\"/>", //
+                                "</server>" //
+                );
+
+                Diagnostic notFound = new Diagnostic(r(3, 39, 3, 54),
+                                "WARNING: The missingKeyStore keyStore referenced by keyStoreRef does not exist.");
+                notFound.setCode(LibertyConstants.REFERENCE_NOT_FOUND_CODE);
+
+                XMLAssert.testDiagnosticsFor(serverXML, null, null, serverXMLURI, notFound);
+        }
+
+        // Tests that ids declared in configDropins/defaults and
+        // configDropins/overrides are known without an include
+        @Test
+        public void testReferenceInConfigDropins() throws IOException {
+                Path defaults = Files.createDirectories(tempDir.resolve("configDropins/defaults"));
+                Files.write(defaults.resolve("keystore.xml"), String.join(newLine, //
+                                "<server>", //
+                                "    <keyStore id=\"defaultsKeyStore\"/>", //
+                                "</server>" //
+                ).getBytes(StandardCharsets.UTF_8));
+                Path overrides = Files.createDirectories(tempDir.resolve("configDropins/overrides"));
+                Files.write(overrides.resolve("keystore.xml"), String.join(newLine, //
+                                "<server>", //
+                                "    <keyStore id=\"overridesKeyStore\"/>", //
+                                "</server>" //
+                ).getBytes(StandardCharsets.UTF_8));
+                String serverXML = String.join(newLine, //
+                                "<server description=\"Sample Liberty server\">", //
+                                "       <ssl id=\"defaultsSSL\" keyStoreRef=\"defaultsKeyStore\"/>", //
+                                "       <ssl id=\"overridesSSL\" keyStoreRef=\"overridesKeyStore\"/>", //
+                                "       <ssl id=\"otherSSL\" keyStoreRef=\"missingKeyStore\"/>", //
+                                "</server>" //
+                );
+
+                Diagnostic notFound = new Diagnostic(r(3, 39, 3, 54),
+                                "WARNING: The missingKeyStore keyStore referenced by keyStoreRef does not exist.");
+                notFound.setCode(LibertyConstants.REFERENCE_NOT_FOUND_CODE);
+
+                String uri = tempDir.resolve("server.xml").toUri().toString();
+                XMLAssert.testDiagnosticsFor(serverXML, null, null, uri, notFound);
+        }
+
+        // Tests that locations that do not exist are reported, except for optional
+        // includes, applications of a server without an apps directory and
+        // locations in the output directory, which is not known
+        @Test
+        public void testLocationNotFoundDiagnostic() {
+                // probe the paths up front, so validation does not depend on how
+                // long a probe takes
+                FileProbeService.getInstance().probe(Arrays.asList(tempDir.resolve("missing.xml"),
+                                tempDir.resolve("lib"), tempDir.resolve("apps"), tempDir.resolve("apps/app.war")), 10000);
+                String serverXML = String.join(newLine, //
+                                "<server description=\"Sample Liberty server\">", //
+                                "       <include location=\"missing.xml\"/>", //
+                                "       <include optional=\"true\" location=\"optional.xml\"/>", //
+                                "       <library id=\"lib\">", //
+                                "               <fileset dir=\"${server.config.dir}/lib\"/>", //
+                                "       </library>", //
+                                "       <application location=\"app.war\"/>", //
+                                "       <library id=\"output\">", //
+                                "               <fileset dir=\"${server.output.dir}/lib\"/>", //
+                                "       </library>", //
+                                "</server>" //
+                );
+
+                Diagnostic missingInclude = new Diagnostic(r(1, 26, 1, 37), "WARNING: The file missing.xml does not exist.");
+                missingInclude.setCode(LibertyConstants.LOCATION_NOT_FOUND_CODE);
+                Diagnostic missingDirectory = new Diagnostic(r(4, 29, 4, 53),
+                                "WARNING: The directory ${server.config.dir}/lib does not exist.");
+                missingDirectory.setCode(LibertyConstants.LOCATION_NOT_FOUND_CODE);
+
+                String uri = tempDir.resolve("server.xml").toUri().toString();
+                XMLAssert.testDiagnosticsFor(serverXML, null, null, uri, missingInclude, missingDirectory);
+        }
+
+        // Tests that the locations of a document that is not a file are not
+        // resolved against the working directory of the server
+        @Test
+        public void testLocationOfDocumentNotOnDisk() {
+                String serverXML = String.join(newLine, //
+                                "<server description=\"Sample Liberty server\">", //
+                                "       <include location=\"missing.xml\"/>", //
+                                "       <application location=\"app.war\"/>", //
+                                "</server>" //
+                );
+
+                XMLAssert.testDiagnosticsFor(serverXML, null, null, "untitled:/server.xml");
+                XMLAssert.testDiagnosticsFor(serverXML, null, null, serverXMLURI);
+        }
+
+        // Tests that a feature which needs a newer java than the project is built
+        // for is reported
+        @Test
+        public void testJavaVersionNotSupportedDiagnostic() throws IOException {
+                Path project = Files.createDirectories(tempDir.resolve("maven-project"));
+                Files.write(project.resolve("pom.xml"), String.join(newLine, //
+                                "<project>", //
+                                "  <properties>", //
+                                "    <maven.compiler.source>1.8</maven.compiler.source>", //
+                                "    <maven.compiler.target>1.8</maven.compiler.target>", //
+                                "  </properties>", //
+                                "</project>" //
+                ).getBytes(StandardCharsets.UTF_8));
+                String uri = project.resolve("src/main/liberty/config/server.xml").toUri().toString();
+
+                String serverXML = String.join(newLine, //
+                                "<server description=\"Sample Liberty server\">", //
+                                "       <featureManager>", //
+                                "               <feature>jdbc-4.3</feature>", //
+                                "               <feature>jdbc-4.2</feature>", //
+                                "       </featureManager>", //
+                                "</server>" //
+                );
+
+                Diagnostic notSupported = new Diagnostic(r(2, 24, 2, 32),
+                                "WARNING: The jdbc-4.3 feature requires Java SE 11 or later, but the project uses Java SE 8.");
+                notSupported.setCode(LibertyConstants.JAVA_VERSION_NOT_SUPPORTED_CODE);
+
+                XMLAssert.testDiagnosticsFor(serverXML, null, null, uri, notSupported);
+        }
+
+        // Tests that the javaVersion setting is used instead of the project build
+        // file, and for a server.xml that is not in a project
+        @Test
+        public void testJavaVersionSetting() throws IOException {
+                Path project = Files.createDirectories(tempDir.resolve("maven-project"));
+                Files.write(project.resolve("pom.xml"), String.join(newLine, //
+                                "<project>", //
+                                "  <properties>", //
+                                "    <maven.compiler.target>1.8</maven.compiler.target>", //
+                                "  </properties>", //
+                                "</project>" //
+                ).getBytes(StandardCharsets.UTF_8));
+                String uri = project.resolve("src/main/liberty/config/server.xml").toUri().toString();
+
+                String serverXML = String.join(newLine, //
+                                "<server description=\"Sample Liberty server\">", //
+                                "       <featureManager>", //
+                                "               <feature>jdbc-4.3</feature>", //
+                                "       </featureManager>", //
+                                "</server>" //
+                );
+
+                useJavaVersion("11");
+                XMLAssert.testDiagnosticsFor(serverXML, null, null, uri);
+
+                Diagnostic notSupported = new Diagnostic(r(2, 24, 2, 32),
+                                "WARNING: The jdbc-4.3 feature requires Java SE 11 or later, but the project uses Java SE 8.");
+                notSupported.setCode(LibertyConstants.JAVA_VERSION_NOT_SUPPORTED_CODE);
+                useJavaVersion("1.8");
+                XMLAssert.testDiagnosticsFor(serverXML, null, null, serverXMLURI, notSupported);
+        }
+
+        private void useJavaVersion(String javaVersion) {
+                JsonObject liberty = new JsonObject();
+                liberty.addProperty("javaVersion", javaVersion);
+                JsonObject xmlSettings = new JsonObject();
+                xmlSettings.add("liberty", liberty);
+                SettingsService.getInstance().updateLibertySettings(xmlSettings);
+        }
+
+}
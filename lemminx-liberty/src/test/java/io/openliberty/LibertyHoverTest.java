@@ -5,6 +5,8 @@ import org.eclipse.lemminx.XMLAssert;
 import org.eclipse.lemminx.commons.BadLocationException;
 
 import static org.eclipse.lemminx.XMLAssert.r;
+
+import io.openliberty.lemminx.liberty.LibertyXSDURIResolver;
 import org.eclipse.lemminx.services.XMLLanguageService;
 
 public class LibertyHoverTest {
@@ -31,4 +33,49 @@ public class LibertyHoverTest {
 
         }
 
+        // Tests that the server.xsd documentation of an element is shown once, by
+        // the content model hover
+        @Test
+        public void testElementHover() throws BadLocationException {
+                String serverXML = String.join(newLine, //
+                                "<server description=\"Sample Liberty server\">", //
+                                "       <httpE|ndpoint id=\"defaultHttpEndpoint\" httpPort=\"9080\" onError=\"WARN\"/>", //
+                                "</server>" //
+                );
+
+                XMLAssert.assertHover(serverXML, serverXMLURI,
+                                withSource("Configuration properties for an HTTP endpoint."), null);
+        }
+
+        // Tests that attribute documentation inherited from a base type is shown
+        @Test
+        public void testAttributeHover() throws BadLocationException {
+                String serverXML = String.join(newLine, //
+                                "<server description=\"Sample Liberty server\">", //
+                                "       <httpEndpoint id=\"defaultHttpEndpoint\" httpP|ort=\"9080\" onError=\"WARN\"/>", //
+                                "</server>" //
+                );
+
+                XMLAssert.assertHover(serverXML, serverXMLURI,
+                                withSource("The port used for client HTTP requests. Use -1 to disable this port."), null);
+        }
+
+        // Tests that the documentation of an enumerated attribute value is shown
+        @Test
+        public void testAttributeValueHover() throws BadLocationException {
+                String serverXML = String.join(newLine, //
+                                "<server description=\"Sample Liberty server\">", //
+                                "       <httpEndpoint id=\"defaultHttpEndpoint\" httpPort=\"9080\" onError=\"WA|RN\"/>", //
+                                "</server>" //
+                );
+
+                XMLAssert.assertHover(serverXML, serverXMLURI, withSource(
+                                "Server will issue warning and error messages when it incurs a configuration error."), null);
+        }
+
+        private static String withSource(String documentation) {
+                String schemaURI = new LibertyXSDURIResolver().resolve(serverXMLURI, null, null);
+                return documentation + newLine + newLine + "Source: [server.xsd](" + schemaURI + ")";
+        }
+
 }
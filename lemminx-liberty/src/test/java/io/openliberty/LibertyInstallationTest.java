@@ -0,0 +1,213 @@
+package io.openliberty;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import com.google.gson.JsonObject;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.openliberty.lemminx.liberty.models.feature.Feature;
+import io.openliberty.lemminx.liberty.services.FeatureCatalog;
+import io.openliberty.lemminx.liberty.services.FeatureService;
+import io.openliberty.lemminx.liberty.services.SettingsService;
+import io.openliberty.lemminx.liberty.util.LibertyUtils;
+
+public class LibertyInstallationTest {
+
+        static String newLine = System.getProperty("line.separator");
+
+        @TempDir
+        Path tempDir;
+
+        private String previousUserHome;
+        private Path wlp;
+        private Path otherWlp;
+        private Path features;
+
+        @BeforeEach
+        public void createInstallation() throws IOException {
+                // the index is persisted under the user home
+                previousUserHome = System.getProperty("user.home");
+                System.setProperty("user.home", Files.createDirectories(tempDir.resolve("home")).toString());
+
+                wlp = tempDir.resolve("wlp");
+                features = Files.createDirectories(wlp.resolve("lib/features"));
+                writeManifest(features.resolve("com.ibm.websphere.appserver.jaxrs-2.1.mf"),
+                                "com.ibm.websphere.appserver.jaxrs-2.1; visibility:=public", "jaxrs-2.1", "2.1.0",
+                                "com.ibm.websphere.appserver.servlet-4.0; type=\"osgi.subsystem.feature\", "
+                                                + "com.ibm.ws.jaxrs.2.1; version=\"[1,1.0.100)\"",
+                                "1.8");
+                Files.createDirectories(features.resolve("l10n"));
+                write(features.resolve("l10n/com.ibm.websphere.appserver.jaxrs-2.1.properties"), String.join(newLine, //
+                                "name=Java RESTful Services 2.1", //
+                                "description=This feature enables support for JAX-RS 2.1." //
+                ));
+                writeManifest(features.resolve("com.ibm.websphere.appserver.servlet-4.0.mf"),
+                                "com.ibm.websphere.appserver.servlet-4.0; visibility:=public", "servlet-4.0", "4.0.0",
+                                "com.ibm.websphere.appserver.internal-1.0; type=\"osgi.subsystem.feature\"", "1.8");
+                writeManifest(features.resolve("com.ibm.websphere.appserver.internal-1.0.mf"),
+                                "com.ibm.websphere.appserver.internal-1.0; visibility:=private", null, "1.0.0", null,
+                                "11");
+
+                Path userFeatures = Files.createDirectories(wlp.resolve("usr/extension/lib/features"));
+                writeManifest(userFeatures.resolve("my.feature-1.0.mf"), "my.feature-1.0; visibility:=public",
+                                "myFeature-1.0", "1.0.0", null, null);
+
+                Path productFeatures = Files.createDirectories(tempDir.resolve("myProduct/lib/features"));
+                writeManifest(productFeatures.resolve("product.feature-1.0.mf"),
+                                "product.feature-1.0; visibility:=public", "productFeature-1.0", "1.0.0", null, null);
+                Files.createDirectories(wlp.resolve("etc/extensions"));
+                write(wlp.resolve("etc/extensions/myProduct.properties"),
+                                "com.ibm.websphere.productInstall=myProduct");
+
+                otherWlp = tempDir.resolve("otherWlp");
+                Path otherFeatures = Files.createDirectories(otherWlp.resolve("lib/features"));
+                writeManifest(otherFeatures.resolve("com.ibm.websphere.appserver.servlet-3.1.mf"),
+                                "com.ibm.websphere.appserver.servlet-3.1; visibility:=public", "servlet-3.1", "3.1.0",
+                                null, "1.6");
+
+                useInstallation(wlp);
+        }
+
+        @AfterEach
+        public void reset() {
+                SettingsService.getInstance().updateLibertySettings(new JsonObject());
+                System.setProperty("user.home", previousUserHome);
+        }
+
+        @Test
+        public void testInstallationCatalog() {
+                FeatureCatalog catalog = getCatalog();
+
+                Set<String> shortNames = catalog.getFeatures().stream()
+                                .map(feature -> feature.getWlpInformation().getShortName()).collect(Collectors.toSet());
+                assertEquals(new HashSet<>(Arrays.asList("jaxrs-2.1", "servlet-4.0", "usr:myFeature-1.0",
+                                "myProduct:productFeature-1.0")), shortNames);
+
+                Feature jaxrs = catalog.getFeature("jaxrs-2.1").get();
+                assertEquals("Java RESTful Services 2.1", jaxrs.getName());
+                assertEquals("This feature enables support for JAX-RS 2.1.", jaxrs.getShortDescription());
+                // through servlet-4.0 and the private feature it requires
+                assertEquals(11, catalog.getMinJavaLevel("jaxrs-2.1"));
+        }
+
+        @Test
+        public void testIncrementalRefresh() throws IOException {
+                FeatureCatalog catalog = getCatalog();
+                Feature jaxrs = catalog.getFeature("jaxrs-2.1").get();
+                Feature servlet = catalog.getFeature("servlet-4.0").get();
+                Path servletManifest = features.resolve("com.ibm.websphere.appserver.servlet-4.0.mf");
+                FileTime servletModified = Files.getLastModifiedTime(servletManifest);
+
+                // only the changed manifest is read again
+                writeManifest(servletManifest, "com.ibm.websphere.appserver.servlet-4.0; visibility:=public",
+                                "servlet-4.0", "4.0.1", null, "1.8");
+                Files.setLastModifiedTime(servletManifest,
+                                FileTime.fromMillis(servletModified.toMillis() + 10000));
+                catalog = getCatalog();
+                assertSame(jaxrs, catalog.getFeature("jaxrs-2.1").get());
+                assertNotSame(servlet, catalog.getFeature("servlet-4.0").get());
+                assertEquals("4.0.1", catalog.getFeature("servlet-4.0").get().getVersion());
+                assertEquals(8, catalog.getMinJavaLevel("jaxrs-2.1"));
+
+                // the index is persisted and trusted while the modification time and
+                // size of a manifest are unchanged
+                assertTrue(Files.isRegularFile(getIndexFile(wlp)));
+                Path jaxrsManifest = features.resolve("com.ibm.websphere.appserver.jaxrs-2.1.mf");
+                FileTime jaxrsModified = Files.getLastModifiedTime(jaxrsManifest);
+                byte[] manifest = Files.readAllBytes(jaxrsManifest);
+                Files.write(jaxrsManifest, new String(manifest, StandardCharsets.UTF_8)
+                                .replace("Subsystem-Version: 2.1.0", "Subsystem-Version: 2.1.9")
+                                .getBytes(StandardCharsets.UTF_8));
+                Files.setLastModifiedTime(jaxrsManifest, jaxrsModified);
+
+                // switching installations drops the in-memory index
+                useInstallation(otherWlp);
+                assertTrue(getCatalog().getFeature("servlet-3.1").isPresent());
+                useInstallation(wlp);
+                assertEquals("2.1.0", getCatalog().getFeature("jaxrs-2.1").get().getVersion());
+        }
+
+        @Test
+        public void testRescanAfterRequestDelay() throws IOException {
+                FeatureCatalog catalog = getCatalog();
+
+                // a manifest that is not a feature is remembered, so it does not
+                // cause a rescan to rebuild the catalog
+                write(features.resolve("readme.mf"), "Manifest-Version: 1.0\n");
+                FeatureCatalog rescanned = getCatalog();
+                assertNotSame(catalog, rescanned);
+                assertSame(rescanned, getCatalog());
+
+                // the installation is not scanned again within the request delay
+                Path servletManifest = features.resolve("com.ibm.websphere.appserver.servlet-4.0.mf");
+                FileTime servletModified = Files.getLastModifiedTime(servletManifest);
+                writeManifest(servletManifest, "com.ibm.websphere.appserver.servlet-4.0; visibility:=public",
+                                "servlet-4.0", "4.0.1", null, "1.8");
+                Files.setLastModifiedTime(servletManifest, FileTime.fromMillis(servletModified.toMillis() + 10000));
+                assertSame(rescanned, FeatureService.getInstance().getFeatureCatalog("20.0.0.9", 3600));
+                assertEquals("4.0.1", getCatalog().getFeature("servlet-4.0").get().getVersion());
+        }
+
+        private FeatureCatalog getCatalog() {
+                return FeatureService.getInstance().getFeatureCatalog("20.0.0.9", 0);
+        }
+
+        private void useInstallation(Path installationDirectory) {
+                JsonObject liberty = new JsonObject();
+                liberty.addProperty("installationDirectory", installationDirectory.toString());
+                JsonObject xmlSettings = new JsonObject();
+                xmlSettings.add("liberty", liberty);
+                SettingsService.getInstance().updateLibertySettings(xmlSettings);
+        }
+
+        private Path getIndexFile(Path installationDirectory) {
+                byte[] installationPath = installationDirectory.toString().getBytes(StandardCharsets.UTF_8);
+                String indexName = UUID.nameUUIDFromBytes(installationPath).toString();
+                return LibertyUtils.getLibertyCacheDirectory().resolve("installations").resolve(indexName + ".json");
+        }
+
+        private void writeManifest(Path file, String symbolicName, String shortName, String version, String content,
+                        String javaVersion) throws IOException {
+                StringBuilder manifest = new StringBuilder();
+                manifest.append("Manifest-Version: 1.0\n");
+                manifest.append("Subsystem-SymbolicName: ").append(symbolicName).append("\n");
+                if (shortName != null) {
+                        manifest.append("IBM-ShortName: ").append(shortName).append("\n");
+                        manifest.append("Subsystem-Name: %name\n");
+                        manifest.append("Subsystem-Description: %description\n");
+                        manifest.append("Subsystem-Localization: OSGI-INF/l10n/")
+                                        .append(symbolicName.split(";")[0]).append("\n");
+                }
+                manifest.append("Subsystem-Version: ").append(version).append("\n");
+                if (content != null) {
+                        manifest.append("Subsystem-Content: ").append(content).append("\n");
+                }
+                if (javaVersion != null) {
+                        manifest.append("Require-Capability: osgi.ee; filter:=\"(&(osgi.ee=JavaSE)(version>=")
+                                        .append(javaVersion).append("))\"\n");
+                }
+                write(file, manifest.toString());
+        }
+
+        private void write(Path file, String content) throws IOException {
+                Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        }
+}
@@ -0,0 +1,209 @@
+package io.openliberty;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.google.gson.JsonObject;
+
+import org.eclipse.lemminx.dom.DOMDocument;
+import org.eclipse.lemminx.dom.DOMParser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.openliberty.lemminx.liberty.services.ProjectService;
+import io.openliberty.lemminx.liberty.services.SettingsService;
+
+public class LibertyProjectTest {
+
+        static String newLine = System.getProperty("line.separator");
+        static String serverXML = "<server></server>";
+
+        @TempDir
+        Path tempDir;
+
+        @AfterEach
+        public void resetSettings() {
+                SettingsService.getInstance().updateLibertySettings(new JsonObject());
+        }
+
+        @Test
+        public void testMavenLibertyVersion() throws IOException {
+                Path project = Files.createDirectories(tempDir.resolve("maven-project"));
+                write(project.resolve("pom.xml"), String.join(newLine, //
+                                "<project>", //
+                                "  <properties>", //
+                                "    <liberty.version>20.0.0.10</liberty.version>", //
+                                "  </properties>", //
+                                "  <build>", //
+                                "    <plugins>", //
+                                "      <plugin>", //
+                                "        <groupId>io.openliberty.tools</groupId>", //
+                                "        <artifactId>liberty-maven-plugin</artifactId>", //
+                                "        <configuration>", //
+                                "          <runtimeArtifact>", //
+                                "            <groupId>io.openliberty</groupId>", //
+                                "            <artifactId>openliberty-kernel</artifactId>", //
+                                "            <version>${liberty.version}</version>", //
+                                "          </runtimeArtifact>", //
+                                "        </configuration>", //
+                                "      </plugin>", //
+                                "    </plugins>", //
+                                "  </build>", //
+                                "</project>" //
+                ));
+
+                assertEquals("20.0.0.10", getLibertyVersion(project.resolve("src/main/liberty/config/server.xml")));
+        }
+
+        @Test
+        public void testGradleLibertyVersion() throws IOException {
+                Path project = Files.createDirectories(tempDir.resolve("gradle-project"));
+                write(project.resolve("gradle.properties"), "libertyVersion=20.0.0.8");
+                write(project.resolve("build.gradle"), String.join(newLine, //
+                                "dependencies {", //
+                                "    libertyRuntime group: 'io.openliberty', name: 'openliberty-runtime', version: \"$libertyVersion\"", //
+                                "}" //
+                ));
+                Path server = project.resolve("src/main/liberty/config/server.xml");
+                assertEquals("20.0.0.8", getLibertyVersion(server));
+
+                // the parsed build file is cached until it is saved
+                write(project.resolve("build.gradle"), String.join(newLine, //
+                                "dependencies {", //
+                                "    libertyRuntime 'io.openliberty:openliberty-runtime:20.0.0.7'", //
+                                "}" //
+                ));
+                ProjectService.getInstance().invalidate(project.resolve("build.gradle").toUri().toString());
+                assertEquals("20.0.0.7", getLibertyVersion(server));
+        }
+
+        @Test
+        public void testGradleLibertyRuntimeBlock() throws IOException {
+                Path project = Files.createDirectories(tempDir.resolve("gradle-project"));
+                // a plain runtime dependency is not the liberty runtime
+                write(project.resolve("build.gradle"), String.join(newLine, //
+                                "dependencies {", //
+                                "    runtime group: 'org.apache.commons', name: 'commons-lang3', version: '3.9'", //
+                                "}" //
+                ));
+                Path server = project.resolve("src/main/liberty/config/server.xml");
+                assertFalse(ProjectService.getInstance().getLibertyVersion(server.toUri().toString()).isPresent());
+
+                write(project.resolve("build.gradle"), String.join(newLine, //
+                                "dependencies {", //
+                                "    runtime group: 'org.apache.commons', name: 'commons-lang3', version: '3.9'", //
+                                "}", //
+                                "liberty {", //
+                                "    server {", //
+                                "        name = 'defaultServer'", //
+                                "    }", //
+                                "    runtime = ['group': 'io.openliberty', 'name': 'openliberty-runtime', 'version': '20.0.0.6']", //
+                                "}" //
+                ));
+                ProjectService.getInstance().invalidate(project.resolve("build.gradle").toUri().toString());
+                assertEquals("20.0.0.6", getLibertyVersion(server));
+        }
+
+        @Test
+        public void testVersionSettingOverridesBuildFile() throws IOException {
+                Path project = Files.createDirectories(tempDir.resolve("gradle-project"));
+                write(project.resolve("build.gradle"), String.join(newLine, //
+                                "dependencies {", //
+                                "    libertyRuntime 'io.openliberty:openliberty-runtime:20.0.0.7'", //
+                                "}" //
+                ));
+                JsonObject liberty = new JsonObject();
+                liberty.addProperty("version", "20.0.0.10");
+                JsonObject xmlSettings = new JsonObject();
+                xmlSettings.add("liberty", liberty);
+                SettingsService.getInstance().updateLibertySettings(xmlSettings);
+
+                assertEquals("20.0.0.10", getLibertyVersion(project.resolve("src/main/liberty/config/server.xml")));
+        }
+
+        @Test
+        public void testJavaLevel() throws IOException {
+                // each server.xml uses the nearest build file, so the module's release
+                // is used instead of the target of the project around it
+                Path project = Files.createDirectories(tempDir.resolve("maven-project"));
+                write(project.resolve("pom.xml"), String.join(newLine, //
+                                "<project>", //
+                                "  <properties>", //
+                                "    <maven.compiler.target>1.8</maven.compiler.target>", //
+                                "  </properties>", //
+                                "</project>" //
+                ));
+                Path module = Files.createDirectories(project.resolve("module"));
+                write(module.resolve("pom.xml"), String.join(newLine, //
+                                "<project>", //
+                                "  <properties>", //
+                                "    <java.version>11</java.version>", //
+                                "  </properties>", //
+                                "  <build>", //
+                                "    <plugins>", //
+                                "      <plugin>", //
+                                "        <artifactId>maven-compiler-plugin</artifactId>", //
+                                "        <configuration>", //
+                                "          <release>${java.version}</release>", //
+                                "        </configuration>", //
+                                "      </plugin>", //
+                                "    </plugins>", //
+                                "  </build>", //
+                                "</project>" //
+                ));
+                assertEquals(8, getJavaLevel(project.resolve("src/main/liberty/config/server.xml")));
+                assertEquals(11, getJavaLevel(module.resolve("src/main/liberty/config/server.xml")));
+
+                Path gradleProject = Files.createDirectories(tempDir.resolve("gradle-project"));
+                write(gradleProject.resolve("build.gradle"), "sourceCompatibility = JavaVersion.VERSION_1_8");
+                assertEquals(8, getJavaLevel(gradleProject.resolve("src/main/liberty/config/server.xml")));
+        }
+
+        @Test
+        public void testJavaVersionSettingOverridesBuildFile() throws IOException {
+                Path project = Files.createDirectories(tempDir.resolve("maven-project"));
+                write(project.resolve("pom.xml"), String.join(newLine, //
+                                "<project>", //
+                                "  <properties>", //
+                                "    <maven.compiler.target>1.8</maven.compiler.target>", //
+                                "  </properties>", //
+                                "</project>" //
+                ));
+                JsonObject liberty = new JsonObject();
+                liberty.addProperty("javaVersion", "11");
+                JsonObject xmlSettings = new JsonObject();
+                xmlSettings.add("liberty", liberty);
+                SettingsService.getInstance().updateLibertySettings(xmlSettings);
+
+                assertEquals(11, getJavaLevel(project.resolve("src/main/liberty/config/server.xml")));
+        }
+
+        @Test
+        public void testRelativeURIHasNoProject() {
+                // resolving test/server.xml against the working directory would
+                // find the pom.xml of this repository
+                DOMDocument document = DOMParser.getInstance().parse(serverXML, "test/server.xml", null);
+                assertEquals(-1, SettingsService.getInstance().getJavaLevel(document));
+                assertFalse(ProjectService.getInstance().getLibertyVersion("test/server.xml").isPresent());
+        }
+
+        private int getJavaLevel(Path serverXMLPath) {
+                DOMDocument document = DOMParser.getInstance().parse(serverXML, serverXMLPath.toUri().toString(), null);
+                return SettingsService.getInstance().getJavaLevel(document);
+        }
+
+        private String getLibertyVersion(Path serverXMLPath) {
+                DOMDocument document = DOMParser.getInstance().parse(serverXML, serverXMLPath.toUri().toString(), null);
+                return SettingsService.getInstance().getLibertyVersion(document);
+        }
+
+        private void write(Path file, String content) throws IOException {
+                Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        }
+}
@@ -0,0 +1,46 @@
+package io.openliberty;
+
+import org.eclipse.lemminx.XMLAssert;
+import org.eclipse.lemminx.commons.BadLocationException;
+import org.junit.jupiter.api.Test;
+
+import static org.eclipse.lemminx.XMLAssert.l;
+import static org.eclipse.lemminx.XMLAssert.r;
+
+public class LibertyReferenceTest {
+
+        static String newLine = System.getProperty("line.separator");
+        static String serverXMLURI = "test/server.xml";
+
+        // Tests finding the references to an id from the element that declares it
+        @Test
+        public void testReferencesFromDeclaration() throws BadLocationException {
+                String serverXML = String.join(newLine, //
+                                "<server description=\"Sample Liberty server\">", //
+                                "       <keyStore id=\"myKey|Store\"/>", //
+                                "       <ssl id=\"mySSL\" keyStoreRef=\"myKeyStore\"/>", //
+                                "       <ssl id=\"otherSSL\" keyStoreRef=\"myKeyStore\"/>", //
+                                "       <ssl id=\"thirdSSL\" keyStoreRef=\"otherKeyStore\"/>", //
+                                "</server>" //
+                );
+
+                XMLAssert.testReferencesFor(serverXML, serverXMLURI, l(serverXMLURI, r(2, 36, 2, 46)),
+                                l(serverXMLURI, r(3, 39, 3, 49)));
+        }
+
+        // Tests finding the other references to the id that a reference resolves to
+        @Test
+        public void testReferencesFromReference() throws BadLocationException {
+                String serverXML = String.join(newLine, //
+                                "<server description=\"Sample Liberty server\">", //
+                                "       <keyStore id=\"myKeyStore\"/>", //
+                                "       <ssl id=\"mySSL\" keyStoreRef=\"myKeyStore\"/>", //
+                                "       <ssl id=\"otherSSL\" keyStoreRef=\"myKey|Store\"/>", //
+                                "</server>" //
+                );
+
+                XMLAssert.testReferencesFor(serverXML, serverXMLURI, l(serverXMLURI, r(2, 36, 2, 46)),
+                                l(serverXMLURI, r(3, 39, 3, 49)));
+        }
+
+}
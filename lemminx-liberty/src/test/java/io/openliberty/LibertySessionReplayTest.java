@@ -0,0 +1,295 @@
+package io.openliberty;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import org.eclipse.lemminx.commons.BadLocationException;
+import org.eclipse.lemminx.commons.TextDocument;
+import org.eclipse.lemminx.dom.DOMDocument;
+import org.eclipse.lemminx.dom.DOMParser;
+import org.eclipse.lemminx.extensions.contentmodel.settings.XMLValidationSettings;
+import org.eclipse.lemminx.services.XMLLanguageService;
+import org.eclipse.lemminx.settings.SharedSettings;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import io.openliberty.lemminx.liberty.services.SettingsService;
+
+/**
+ * Replays recorded editing sessions against the language service with the
+ * Liberty extension loaded in-process, and reports p50/p95/p99 latency and
+ * allocation per request type. Feature lists are served by a local HTTP stub
+ * instead of Maven Central so the replay runs offline.
+ *
+ * Changes are applied to the text document incrementally, as the server does
+ * for didChange, and the document is parsed again by the next request that
+ * needs it. Allocation is summed over all live threads, so work done by the
+ * background executors is included.
+ *
+ * Only runs with -Pbenchmark. The report is logged and written to
+ * target/session-replay.txt, or to -Dreplay.report=file. The number of
+ * measured iterations can be raised with -Dreplay.iterations=n.
+ */
+@Tag("benchmark")
+public class LibertySessionReplayTest {
+
+        private static final Logger LOGGER = Logger.getLogger(LibertySessionReplayTest.class.getName());
+
+        static final String[] SESSIONS = { "sessions/typing-features.json" };
+        static final Path REPORT = Paths.get(System.getProperty("replay.report", "target/session-replay.txt"));
+
+        static final int WARMUP_ITERATIONS = 1;
+        static final int MEASURED_ITERATIONS = Integer.getInteger("replay.iterations", 3);
+
+        private HttpServer featureRepository;
+        private AtomicInteger featureRequests = new AtomicInteger();
+
+        @BeforeEach
+        public void startFeatureRepository() throws IOException {
+                byte[] features = readResource("features-20.0.0.9.json");
+                featureRepository = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+                featureRepository.createContext("/io/openliberty/features/features/", exchange -> {
+                        featureRequests.incrementAndGet();
+                        respond(exchange, exchange.getRequestURI().getPath().endsWith(".json") ? features : null);
+                });
+                featureRepository.start();
+        }
+
+        @AfterEach
+        public void stopFeatureRepository() {
+                SettingsService.getInstance().updateLibertySettings(new JsonObject());
+                featureRepository.stop(0);
+        }
+
+        @Test
+        public void testReplaySessions() throws Exception {
+                XMLLanguageService languageService = new XMLLanguageService();
+                StringBuilder reports = new StringBuilder();
+                for (String sessionResource : SESSIONS) {
+                        Session session = new Gson().fromJson(
+                                        new String(readResource(sessionResource), StandardCharsets.UTF_8), Session.class);
+                        useFeatureRepository(session.libertyVersion,
+                                        "http://localhost:" + featureRepository.getAddress().getPort());
+
+                        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                                replay(languageService, session, null);
+                        }
+                        Map<String, Samples> samples = new LinkedHashMap<>();
+                        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+                                replay(languageService, session, samples);
+                        }
+
+                        String report = report(sessionResource, samples);
+                        LOGGER.info(report);
+                        reports.append(report).append(System.lineSeparator());
+                        for (Step step : session.steps) {
+                                assertEquals(session.countSteps(step.request) * MEASURED_ITERATIONS,
+                                                samples.get(step.request).size(), step.request);
+                        }
+                }
+                if (REPORT.getParent() != null) {
+                        Files.createDirectories(REPORT.getParent());
+                }
+                Files.write(REPORT, reports.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * Replays every step of a session against a fresh copy of its document
+         */
+        private void replay(XMLLanguageService languageService, Session session, Map<String, Samples> samples)
+                        throws BadLocationException {
+                SharedSettings sharedSettings = new SharedSettings();
+                XMLValidationSettings validationSettings = new XMLValidationSettings();
+                TextDocument textDocument = new TextDocument(session.text, session.uri);
+                textDocument.setIncremental(true);
+                // like the server, the DOM is parsed lazily after each change
+                DOMDocument document = null;
+
+                for (Step step : session.steps) {
+                        long startAllocated = allocatedBytes();
+                        long start = System.nanoTime();
+                        if (!"didChange".equals(step.request) && document == null) {
+                                document = parse(languageService, textDocument);
+                        }
+                        switch (step.request) {
+                        case "didChange":
+                                int rangeLength = textDocument.offsetAt(step.range.getEnd())
+                                                - textDocument.offsetAt(step.range.getStart());
+                                TextDocumentContentChangeEvent change = new TextDocumentContentChangeEvent(step.range,
+                                                rangeLength, step.text);
+                                textDocument.setVersion(textDocument.getVersion() + 1);
+                                textDocument.update(Collections.singletonList(change));
+                                document = null;
+                                break;
+                        case "completion":
+                                assertNotNull(languageService.doComplete(document, step.position, sharedSettings));
+                                break;
+                        case "hover":
+                                languageService.doHover(document, step.position, sharedSettings);
+                                break;
+                        case "diagnostics":
+                                assertNotNull(languageService.doDiagnostics(document, () -> {
+                                }, validationSettings));
+                                break;
+                        default:
+                                throw new IllegalArgumentException("Unknown request in session: " + step.request);
+                        }
+                        long elapsed = System.nanoTime() - start;
+                        long allocated = allocatedBytes() - startAllocated;
+                        if (samples != null) {
+                                samples.computeIfAbsent(step.request, r -> new Samples()).add(elapsed, allocated);
+                        }
+                }
+        }
+
+        private DOMDocument parse(XMLLanguageService languageService, TextDocument textDocument) {
+                return DOMParser.getInstance().parse(textDocument, languageService.getResolverExtensionManager());
+        }
+
+        private void useFeatureRepository(String libertyVersion, String repository) {
+                JsonArray featureRepositories = new JsonArray();
+                featureRepositories.add(repository);
+                JsonObject liberty = new JsonObject();
+                liberty.addProperty("version", libertyVersion);
+                liberty.add("featureRepositories", featureRepositories);
+                JsonObject xmlSettings = new JsonObject();
+                xmlSettings.add("liberty", liberty);
+                SettingsService.getInstance().updateLibertySettings(xmlSettings);
+        }
+
+        private String report(String sessionResource, Map<String, Samples> samples) {
+                StringBuilder report = new StringBuilder();
+                report.append(String.format("Session %s (%d iterations, %d feature list requests)%n", sessionResource,
+                                MEASURED_ITERATIONS, featureRequests.get()));
+                report.append(String.format("%-12s %6s %10s %10s %10s %14s%n", "request", "count", "p50 ms", "p95 ms",
+                                "p99 ms", "p50 alloc KB"));
+                for (Map.Entry<String, Samples> entry : samples.entrySet()) {
+                        Samples s = entry.getValue();
+                        report.append(String.format("%-12s %6d %10.3f %10.3f %10.3f %14.1f%n", entry.getKey(), s.size(),
+                                        percentile(s.latencies, 50) / 1e6, percentile(s.latencies, 95) / 1e6,
+                                        percentile(s.latencies, 99) / 1e6, percentile(s.allocations, 50) / 1024.0));
+                }
+                return report.toString();
+        }
+
+        // nearest-rank percentile
+        private static long percentile(List<Long> values, int percentile) {
+                long[] sorted = values.stream().mapToLong(Long::longValue).toArray();
+                Arrays.sort(sorted);
+                int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+                return sorted[Math.max(0, rank - 1)];
+        }
+
+        /**
+         * Bytes allocated so far by all live threads. Threads that end between two
+         * samples are not counted.
+         */
+        private static long allocatedBytes() {
+                java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+                if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+                        return 0;
+                }
+                long total = 0;
+                for (long allocated : ((com.sun.management.ThreadMXBean) threads)
+                                .getThreadAllocatedBytes(threads.getAllThreadIds())) {
+                        // -1 for threads that have ended
+                        total += Math.max(0, allocated);
+                }
+                return total;
+        }
+
+        private static void respond(HttpExchange exchange, byte[] body) throws IOException {
+                if (body == null) {
+                        exchange.sendResponseHeaders(404, -1);
+                        exchange.close();
+                        return;
+                }
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                        out.write(body);
+                }
+        }
+
+        private static byte[] readResource(String name) throws IOException {
+                try (InputStream is = LibertySessionReplayTest.class.getClassLoader().getResourceAsStream(name)) {
+                        if (is == null) {
+                                throw new IOException("Missing test resource " + name);
+                        }
+                        ByteArrayOutputStream out = new ByteArrayOutputStream();
+                        byte[] buffer = new byte[8192];
+                        int read;
+                        while ((read = is.read(buffer)) != -1) {
+                                out.write(buffer, 0, read);
+                        }
+                        return out.toByteArray();
+                }
+        }
+
+        /**
+         * Recorded editing session, see src/test/resources/sessions
+         */
+        static class Session {
+                String description;
+                String uri;
+                String libertyVersion;
+                String text;
+                List<Step> steps = new ArrayList<>();
+
+                int countSteps(String request) {
+                        return (int) steps.stream().filter(s -> s.request.equals(request)).count();
+                }
+        }
+
+        static class Step {
+                String request;
+                Range range;
+                Position position;
+                String text;
+        }
+
+        static class Samples {
+                final List<Long> latencies = new ArrayList<>();
+                final List<Long> allocations = new ArrayList<>();
+
+                void add(long latency, long allocation) {
+                        latencies.add(latency);
+                        allocations.add(allocation);
+                }
+
+                int size() {
+                        return latencies.size();
+                }
+        }
+}
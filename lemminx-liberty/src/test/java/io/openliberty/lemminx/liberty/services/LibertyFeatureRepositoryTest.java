@@ -0,0 +1,201 @@
+package io.openliberty.lemminx.liberty.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpServer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the order in which feature lists are looked up: configured local
+ * repositories, then the local maven repository, then the fastest remote
+ * mirror, then maven central. Each test uses its own liberty version so that
+ * catalogs cached by earlier tests are not reused. The test is in the package
+ * of FeatureService so that it can replace maven central with a stub.
+ */
+public class LibertyFeatureRepositoryTest {
+
+        static final String FEATURE_LIST_PATH = "io/openliberty/features/features/%s/features-%s.json";
+
+        @TempDir
+        Path tempDir;
+
+        private String previousRepoLocal;
+        private Path mavenRepository;
+        private final List<HttpServer> servers = new ArrayList<>();
+
+        @BeforeEach
+        public void useTempMavenRepository() throws IOException {
+                previousRepoLocal = System.getProperty("maven.repo.local");
+                mavenRepository = Files.createDirectories(tempDir.resolve("m2"));
+                System.setProperty("maven.repo.local", mavenRepository.toString());
+        }
+
+        @AfterEach
+        public void reset() {
+                if (previousRepoLocal == null) {
+                        System.clearProperty("maven.repo.local");
+                } else {
+                        System.setProperty("maven.repo.local", previousRepoLocal);
+                }
+                FeatureService.getInstance().setCentralUrl(null);
+                SettingsService.getInstance().updateLibertySettings(new JsonObject());
+                servers.forEach(server -> server.stop(0));
+        }
+
+        @Test
+        public void testConfiguredLocalRepositoryFirst() throws IOException {
+                String version = "90.0.0.1";
+                Path configured = Files.createDirectories(tempDir.resolve("configured"));
+                writeFeatureList(configured, version, "configured-1.0");
+                writeFeatureList(mavenRepository, version, "mavenLocal-1.0");
+                AtomicInteger mirrorRequests = new AtomicInteger();
+                String mirror = startRepository(version, "mirror-1.0", 0, mirrorRequests);
+
+                useFeatureRepositories(configured.toString(), mirror);
+
+                assertOnlyFeature("configured-1.0", getCatalog(version));
+                assertEquals(0, mirrorRequests.get());
+        }
+
+        @Test
+        public void testLocalMavenRepositoryBeforeMirrors() throws IOException {
+                String version = "90.0.0.2";
+                writeFeatureList(mavenRepository, version, "mavenLocal-1.0");
+                AtomicInteger mirrorRequests = new AtomicInteger();
+                String mirror = startRepository(version, "mirror-1.0", 0, mirrorRequests);
+
+                // a configured directory without the feature list is skipped
+                useFeatureRepositories(tempDir.resolve("empty").toUri().toString(), mirror);
+
+                assertOnlyFeature("mavenLocal-1.0", getCatalog(version));
+                assertEquals(0, mirrorRequests.get());
+        }
+
+        @Test
+        public void testFastestMirrorWins() throws IOException {
+                String version = "90.0.0.3";
+                AtomicInteger slowRequests = new AtomicInteger();
+                AtomicInteger fastRequests = new AtomicInteger();
+                AtomicInteger centralRequests = new AtomicInteger();
+                String slowMirror = startRepository(version, "slowMirror-1.0", 2000, slowRequests);
+                String fastMirror = startRepository(version, "fastMirror-1.0", 0, fastRequests);
+                FeatureService.getInstance()
+                                .setCentralUrl(startRepository(version, "central-1.0", 0, centralRequests));
+
+                useFeatureRepositories(slowMirror, fastMirror);
+
+                assertOnlyFeature("fastMirror-1.0", getCatalog(version));
+                assertEquals(1, fastRequests.get());
+                assertEquals(0, centralRequests.get());
+        }
+
+        @Test
+        public void testCentralAfterFailedMirrors() throws IOException {
+                String version = "90.0.0.4";
+                AtomicInteger mirrorRequests = new AtomicInteger();
+                AtomicInteger centralRequests = new AtomicInteger();
+                // the mirror only has the feature list of another version
+                String mirror = startRepository("90.0.0.99", "mirror-1.0", 0, mirrorRequests);
+                FeatureService.getInstance()
+                                .setCentralUrl(startRepository(version, "central-1.0", 0, centralRequests));
+
+                useFeatureRepositories(mirror);
+
+                assertOnlyFeature("central-1.0", getCatalog(version));
+                assertEquals(1, mirrorRequests.get());
+                assertEquals(1, centralRequests.get());
+        }
+
+        @Test
+        public void testDefaultFeaturesWhenNoRepositoryHasTheVersion() throws IOException {
+                String version = "90.0.0.5";
+                FeatureService.getInstance()
+                                .setCentralUrl(startRepository("90.0.0.99", "central-1.0", 0, new AtomicInteger()));
+
+                assertTrue(getCatalog(version).getFeature("jaxrs-2.1").isPresent());
+        }
+
+        private FeatureCatalog getCatalog(String version) {
+                return FeatureService.getInstance().getFeatureCatalog(version, 0);
+        }
+
+        private void assertOnlyFeature(String shortName, FeatureCatalog catalog) {
+                assertEquals(1, catalog.getFeatures().size());
+                assertEquals(shortName, catalog.getFeatures().get(0).getWlpInformation().getShortName());
+        }
+
+        private void useFeatureRepositories(String... repositories) {
+                JsonArray featureRepositories = new JsonArray();
+                for (String repository : repositories) {
+                        featureRepositories.add(repository);
+                }
+                JsonObject liberty = new JsonObject();
+                liberty.add("featureRepositories", featureRepositories);
+                JsonObject xmlSettings = new JsonObject();
+                xmlSettings.add("liberty", liberty);
+                SettingsService.getInstance().updateLibertySettings(xmlSettings);
+        }
+
+        private void writeFeatureList(Path repository, String version, String shortName) throws IOException {
+                Path featureList = repository.resolve(String.format(FEATURE_LIST_PATH, version, version));
+                Files.createDirectories(featureList.getParent());
+                Files.write(featureList, featureList(shortName));
+        }
+
+        /**
+         * Starts a repository on the loopback interface that serves the feature
+         * list of one version, after a delay
+         *
+         * @return url of the repository
+         */
+        private String startRepository(String version, String shortName, long delay, AtomicInteger requests)
+                        throws IOException {
+                String path = "/" + String.format(FEATURE_LIST_PATH, version, version);
+                byte[] body = featureList(shortName);
+                HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+                server.createContext("/", exchange -> {
+                        requests.incrementAndGet();
+                        try {
+                                Thread.sleep(delay);
+                        } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                        }
+                        if (!exchange.getRequestURI().getPath().equals(path)) {
+                                exchange.sendResponseHeaders(404, -1);
+                                exchange.close();
+                                return;
+                        }
+                        exchange.sendResponseHeaders(200, body.length);
+                        try (OutputStream out = exchange.getResponseBody()) {
+                                out.write(body);
+                        }
+                });
+                server.start();
+                servers.add(server);
+                return "http://" + InetAddress.getLoopbackAddress().getHostAddress() + ":"
+                                + server.getAddress().getPort();
+        }
+
+        private static byte[] featureList(String shortName) {
+                return ("[{\"wlpInformation\":{\"shortName\":\"" + shortName + "\",\"visibility\":\"PUBLIC\","
+                                + "\"provideFeature\":[\"test." + shortName + "\"]}}]").getBytes(StandardCharsets.UTF_8);
+        }
+}